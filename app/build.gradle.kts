@@ -27,6 +27,16 @@ android {
 
         // >>> TARUH buildConfigField DI SINI <<<
         buildConfigField("String", "API_KEY", "\"${localProperties.getProperty("API_KEY")}\"")
+        // Ukuran cache HTTP di disk, bisa diubah lewat HTTP_CACHE_SIZE_MB di local.properties
+        val httpCacheSizeMb = localProperties.getProperty("HTTP_CACHE_SIZE_MB", "20").toLong()
+        buildConfigField("long", "HTTP_CACHE_SIZE_BYTES", "${httpCacheSizeMb * 1024 * 1024}L")
+
+        // Room mengekspor skema setiap versi database ke app/schemas
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments["room.schemaLocation"] = "$projectDir/schemas"
+            }
+        }
     }
 
     buildTypes {
@@ -46,6 +56,11 @@ android {
     buildFeatures {
         buildConfig = true
     }
+
+    // Skema yang diekspor dibaca MigrationTestHelper di DatabaseMigrationTest
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
 }
 
 dependencies {
@@ -58,10 +73,13 @@ dependencies {
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.room.testing)
     implementation(libs.navigation.fragment)
     implementation(libs.navigation.ui)
     implementation(libs.lifecycle.viewmodel)
     implementation(libs.lifecycle.livedata)
+    implementation(libs.lifecycle.viewmodel.savedstate) // SavedStateHandle untuk state feed Home
+    implementation(libs.recyclerview) // StateRestorationPolicy butuh recyclerview 1.2+
     implementation(libs.glide)
 
     // Networking
@@ -0,0 +1,167 @@
+package com.example.filmhub.database.db;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.database.projections.JournalSearchResult;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Menguji jalur migrasi AppDatabase dari versi 1 (skema rilis pertama) sampai versi terbaru.
+ * Database versi 1 dibuat MigrationTestHelper dari skema yang diekspor di app/schemas, lalu semua
+ * migrasi dijalankan dan skema hasilnya divalidasi terhadap skema versi terbaru.
+ * Setelah itu query plan dari query daftar dicek agar benar-benar memakai index.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseMigrationTest {
+
+    private static final String TEST_DB = "migration-test.db";
+    private static final int LATEST_VERSION = 8;
+
+    @Rule
+    public final MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    private Context context;
+    private AppDatabase database;
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        createVersion1Database();
+        helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true, DatabaseMigrations.ALL).close();
+        // DAO dipakai lewat Room biasa di atas file yang sudah dimigrasi
+        database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(DatabaseMigrations.ALL)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    // Skema versi 1 dari 1.json: hanya favorite_movies dan watched_movies, tanpa index
+    private void createVersion1Database() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 1);
+        db.execSQL("INSERT INTO favorite_movies VALUES (550, 'Fight Club', '/fc.jpg')");
+        db.execSQL("INSERT INTO favorite_movies VALUES (13, 'Forrest Gump', '/fg.jpg')");
+        db.execSQL("INSERT INTO watched_movies VALUES (550, 'Fight Club', '/fc.jpg', 1000, 4.5, "
+                + "'Mantap', 139, 'Drama, Thriller')");
+        db.execSQL("INSERT INTO watched_movies VALUES (13, 'Forrest Gump', '/fg.jpg', 2000, 3.5, "
+                + "'Menyentuh', 142, 'Drama, Romance')");
+        db.close();
+    }
+
+    @Test
+    public void migrateFromVersion1_keepsJournalAndBackfillsDerivedTables() {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+
+        assertEquals(2, queryInt(db, "SELECT COUNT(*) FROM favorite_movies"));
+        assertEquals(2, queryInt(db, "SELECT COUNT(*) FROM watched_movies"));
+
+        // Genre dinormalisasi dari teks "Drama, Thriller" dan "Drama, Romance"
+        assertEquals(3, queryInt(db, "SELECT COUNT(*) FROM genres"));
+        assertEquals(4, queryInt(db, "SELECT COUNT(*) FROM watched_movie_genres"));
+
+        // Agregat jurnal terisi dari data lama
+        assertEquals(2, queryInt(db, "SELECT movie_count FROM watch_stats WHERE id = 1"));
+        assertEquals(281, queryInt(db, "SELECT total_runtime FROM watch_stats WHERE id = 1"));
+        assertEquals(2, queryInt(db, "SELECT watched_count FROM genre_stats s "
+                + "INNER JOIN genres g ON g.genre_id = s.genre_id WHERE g.name = 'Drama'"));
+        assertTrue(database.watchedMovieDao().verifyOrRebuildStats());
+    }
+
+    @Test
+    public void migrateFromVersion1_backfillsSearchIndexAndTriggersKeepItInSync() {
+        // Ulasan lama langsung bisa dicari setelah migrasi
+        List<JournalSearchResult> results = database.journalSearchDao().search("mantap*", 10);
+        assertEquals(1, results.size());
+        assertEquals(550, results.get(0).getMovieId());
+        assertFalse(results.get(0).isFavorite());
+        assertTrue(results.get(0).snippet, results.get(0).snippet.contains(JournalSearchResult.HIGHLIGHT_START));
+
+        // Judul cocok di jurnal dan favorit; perubahan lewat DAO ikut masuk indeks lewat trigger
+        assertEquals(2, database.journalSearchDao().search("forr*", 10).size());
+        database.favoriteMovieDao().insert(new FavoriteMovie(27205, "Inception", "/inc.jpg"));
+        assertEquals(1, database.journalSearchDao().search("incep*", 10).size());
+        database.favoriteMovieDao().deleteById(27205);
+        assertEquals(0, database.journalSearchDao().search("incep*", 10).size());
+    }
+
+    // Query di bawah harus sama dengan query di FavoriteMovieDao / WatchedMovieDao / CatalogDao
+
+    @Test
+    public void favoritesList_readsFromCoveringIndexWithoutSorting() {
+        String plan = explain("SELECT movie_id, title, poster_path FROM favorite_movies "
+                + "ORDER BY title ASC, movie_id ASC LIMIT 30 OFFSET 0");
+        assertTrue(plan, plan.contains("COVERING INDEX index_favorite_movies_title_movie_id_poster_path"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void watchedList_usesWatchedDateIndexWithoutSorting() {
+        String plan = explain("SELECT movie_id, title, poster_path, user_rating, "
+                + "substr(user_review, 1, 200) AS review_snippet FROM watched_movies "
+                + "ORDER BY watched_date DESC, movie_id DESC LIMIT 30 OFFSET 0");
+        assertTrue(plan, plan.contains("index_watched_movies_watched_date"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void topGenres_usesWatchedCountIndex() {
+        String plan = explain("SELECT g.name FROM genre_stats s INNER JOIN genres g ON g.genre_id = s.genre_id "
+                + "WHERE s.watched_count > 0 ORDER BY s.watched_count DESC, g.name ASC LIMIT 3");
+        assertTrue(plan, plan.contains("index_genre_stats_watched_count"));
+    }
+
+    @Test
+    public void watchedMovieLookup_usesPrimaryKey() {
+        String plan = explain("SELECT * FROM watched_movies WHERE movie_id = 550");
+        assertTrue(plan, plan.contains("INTEGER PRIMARY KEY"));
+    }
+
+    @Test
+    public void catalogEviction_usesLastUpdatedIndex() {
+        String plan = explain("DELETE FROM movies WHERE feed_key NOT IN "
+                + "(SELECT feed_key FROM remote_keys ORDER BY last_updated DESC LIMIT 40)");
+        assertTrue(plan, plan.contains("index_remote_keys_last_updated"));
+    }
+
+    private String explain(String sql) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detailColumn)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static int queryInt(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getInt(0);
+        }
+    }
+}
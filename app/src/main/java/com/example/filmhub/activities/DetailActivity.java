@@ -1,7 +1,10 @@
 package com.example.filmhub.activities;
 
+import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -12,10 +15,18 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat; // Untuk mengambil drawable
 import androidx.lifecycle.ViewModelProvider;
 import androidx.annotation.NonNull;
-import com.bumptech.glide.Glide;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import com.example.filmhub.R;
+import com.example.filmhub.adapters.MovieListAdapter;
+import com.example.filmhub.adapters.RailMovieAdapter;
+import com.example.filmhub.data.model.CastMember;
 import com.example.filmhub.data.model.Genre;
+import com.example.filmhub.data.model.Movie;
 import com.example.filmhub.data.model.MovieDetailResponse;
+import com.example.filmhub.data.model.MovieVideo;
+import com.example.filmhub.data.model.RichMovieDetail;
+import com.example.filmhub.utils.PosterImageLoader;
 import com.example.filmhub.viewmodel.DetailViewModel;
 import com.example.filmhub.fragments.ReviewInputDialogFragment; // Akan di-import nanti
 import java.util.Locale;
@@ -26,17 +37,49 @@ public class DetailActivity extends AppCompatActivity {
     // Kunci untuk menerima data dari Intent
     public static final String EXTRA_MOVIE_ID = "movieId";
 
+    // Snapshot opsional dari daftar asal, agar header tampil sebelum detail dari jaringan datang
+    private static final String EXTRA_SNAPSHOT_TITLE = "snapshotTitle";
+    private static final String EXTRA_SNAPSHOT_POSTER_PATH = "snapshotPosterPath";
+    private static final String EXTRA_SNAPSHOT_OVERVIEW = "snapshotOverview";
+    private static final String EXTRA_SNAPSHOT_VOTE_AVERAGE = "snapshotVoteAverage";
+    // Ukuran decode poster di daftar asal, untuk mengambil bitmap yang sama dari memory cache Glide
+    private static final String EXTRA_THUMB_WIDTH = "thumbWidthPx";
+    private static final String EXTRA_THUMB_HEIGHT = "thumbHeightPx";
+
     // Deklarasi Komponen UI
     private ImageView ivPoster;
+    private View cardPoster;
     private TextView tvTitle, tvRating, tvReleaseDate, tvDuration, tvGenres, tvOverview;
     private Button btnFavorite, btnWatched;
     private ProgressBar progressBar;
+    private Button btnTrailer;
+    private TextView titleCast, tvCast, titleSimilar;
+    private RecyclerView recyclerViewSimilar;
+    private RailMovieAdapter similarAdapter;
 
 
     // Deklarasi komponen logika
     private DetailViewModel detailViewModel;
     private int movieId;
     private boolean isFavorite = false; // State untuk tombol favorit
+    private int thumbWidthPx = 0;
+    private int thumbHeightPx = 0;
+
+    /**
+     * Argumen navigasi (movieId + snapshot) untuk film yang sudah tampil di sebuah daftar.
+     * Bundle ini bisa dipakai untuk action Navigation maupun sebagai extras Intent.
+     */
+    public static Bundle snapshotArgs(Movie movie, int thumbWidthPx, int thumbHeightPx) {
+        Bundle args = new Bundle();
+        args.putInt(EXTRA_MOVIE_ID, movie.getId());
+        args.putString(EXTRA_SNAPSHOT_TITLE, movie.getTitle());
+        args.putString(EXTRA_SNAPSHOT_POSTER_PATH, movie.getPosterPath());
+        args.putString(EXTRA_SNAPSHOT_OVERVIEW, movie.getOverview());
+        args.putDouble(EXTRA_SNAPSHOT_VOTE_AVERAGE, movie.getVoteAverage());
+        args.putInt(EXTRA_THUMB_WIDTH, thumbWidthPx);
+        args.putInt(EXTRA_THUMB_HEIGHT, thumbHeightPx);
+        return args;
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -52,8 +95,11 @@ public class DetailActivity extends AppCompatActivity {
         observeViewModel();
         setupListeners();
 
-        // Memuat semua data untuk movie ID ini
-        progressBar.setVisibility(View.VISIBLE);
+        // Header dari snapshot daftar asal tampil di frame pertama; spinner hanya jika tidak ada snapshot.
+        // Durasi, genre, dan tanggal rilis menyusul saat detail dari jaringan selesai.
+        if (!populateSnapshot()) {
+            progressBar.setVisibility(View.VISIBLE);
+        }
         detailViewModel.loadAllData(movieId);
     }
 
@@ -71,10 +117,25 @@ public class DetailActivity extends AppCompatActivity {
         return false;
     }
 
+    // Mengisi header dari snapshot daftar asal. false jika Activity dibuka tanpa snapshot.
+    private boolean populateSnapshot() {
+        String title = getIntent().getStringExtra(EXTRA_SNAPSHOT_TITLE);
+        if (title == null) return false;
+        thumbWidthPx = getIntent().getIntExtra(EXTRA_THUMB_WIDTH, 0);
+        thumbHeightPx = getIntent().getIntExtra(EXTRA_THUMB_HEIGHT, 0);
+        tvTitle.setText(title);
+        tvOverview.setText(getIntent().getStringExtra(EXTRA_SNAPSHOT_OVERVIEW));
+        tvRating.setText(String.format(Locale.getDefault(), "%.1f",
+                getIntent().getDoubleExtra(EXTRA_SNAPSHOT_VOTE_AVERAGE, 0)));
+        loadPoster(getIntent().getStringExtra(EXTRA_SNAPSHOT_POSTER_PATH));
+        return true;
+    }
+
     // Inisialisasi semua view dari layout XML
     private void initViews() {
         // ivBackdrop = findViewById(R.id.iv_detail_backdrop); // Jika ada
         ivPoster = findViewById(R.id.iv_detail_poster);
+        cardPoster = findViewById(R.id.card_poster);
         tvTitle = findViewById(R.id.tv_detail_title);
         tvRating = findViewById(R.id.tv_detail_rating);
         tvReleaseDate = findViewById(R.id.tv_detail_release_date);
@@ -84,7 +145,41 @@ public class DetailActivity extends AppCompatActivity {
         btnFavorite = findViewById(R.id.btn_favorite);
         btnWatched = findViewById(R.id.btn_watched);
         progressBar = findViewById(R.id.progress_bar_detail);
+        btnTrailer = findViewById(R.id.btn_trailer);
+        titleCast = findViewById(R.id.title_cast);
+        tvCast = findViewById(R.id.tv_detail_cast);
+        titleSimilar = findViewById(R.id.title_similar);
+        recyclerViewSimilar = findViewById(R.id.recycler_view_similar);
+
+        // Film serupa memakai item yang sama dengan rail di Home
+        similarAdapter = new RailMovieAdapter(new MovieListAdapter.OnMovieItemClickListener() {
+            @Override
+            public void onMovieClick(int similarMovieId) {
+                // Tanpa judul, snapshot dilewati dan header menunggu respons detail
+                openSimilarMovie(new Movie(similarMovieId, null, null, null, 0), 0, 0);
+            }
+
+            @Override
+            public void onMovieClick(Movie movie, int posterWidthPx, int posterHeightPx) {
+                openSimilarMovie(movie, posterWidthPx, posterHeightPx);
+            }
+        });
+        recyclerViewSimilar.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.HORIZONTAL, false));
+        recyclerViewSimilar.setAdapter(similarAdapter);
+
+    }
+
+    private void openSimilarMovie(Movie movie, int posterWidthPx, int posterHeightPx) {
+        Intent intent = new Intent(this, DetailActivity.class);
+        intent.putExtras(snapshotArgs(movie, posterWidthPx, posterHeightPx));
+        startActivity(intent);
+    }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Toggle favorit/ulasan yang masih ditahan write-behind buffer ditulis sekarang
+        detailViewModel.flushPendingWrites();
     }
 
     /**
@@ -120,6 +215,9 @@ public class DetailActivity extends AppCompatActivity {
             }
         });
 
+        // Observasi sub-resource (pemeran, trailer, film serupa), datang setelah hero tampil
+        detailViewModel.getMovieExtrasLiveData().observe(this, this::populateExtras);
+
         // Observasi status favorit dari database
         detailViewModel.getFavoriteStatusLiveData().observe(this, favoriteMovie -> {
             isFavorite = (favoriteMovie != null);
@@ -175,20 +273,54 @@ public class DetailActivity extends AppCompatActivity {
         // REVISI: Tambahkan pengecekan null untuk backdrop dan poster
         // ===================================================================================
 
-        // Memuat gambar backdrop JIKA ADA
-        String posterPath = movie.getPosterPath();
+        loadPoster(movie.getPosterPath());
+    }
+
+    // Memuat poster JIKA ADA, dengan ukuran TMDb yang sesuai ukuran kartu poster (180x270dp).
+    // Request-nya identik untuk snapshot dan detail, jadi Glide tidak memuat ulang poster yang sama.
+    private void loadPoster(String posterPath) {
         if (posterPath != null && !posterPath.isEmpty()) {
-            String posterUrl = "https://image.tmdb.org/t/p/w500" + posterPath;
-            Glide.with(this)
-                    .load(posterUrl)
-                    .placeholder(R.drawable.ic_image_placeholder)
-                    .into(ivPoster);
+            ViewGroup.LayoutParams posterParams = cardPoster.getLayoutParams();
+            PosterImageLoader.loadWithCachedThumbnail(ivPoster, posterPath, posterParams.width, posterParams.height,
+                    thumbWidthPx, thumbHeightPx);
         } else {
             // Fallback jika tidak ada poster
             ivPoster.setImageResource(R.drawable.ic_image_placeholder);
         }
     }
 
+    // Mengisi bagian pemeran, trailer, dan film serupa; bagian tanpa data tetap tersembunyi
+    private void populateExtras(RichMovieDetail extras) {
+        StringBuilder cast = new StringBuilder();
+        for (CastMember member : extras.getCast()) {
+            if (cast.length() > 0) {
+                cast.append('\n');
+            }
+            cast.append(member.getName());
+            if (member.getCharacter() != null && !member.getCharacter().isEmpty()) {
+                cast.append(" sebagai ").append(member.getCharacter());
+            }
+        }
+        tvCast.setText(cast);
+        setVisible(cast.length() > 0, titleCast, tvCast);
+
+        MovieVideo trailer = extras.getTrailer();
+        setVisible(trailer != null, btnTrailer);
+        if (trailer != null) {
+            btnTrailer.setOnClickListener(v -> startActivity(new Intent(Intent.ACTION_VIEW,
+                    Uri.parse("https://www.youtube.com/watch?v=" + trailer.getKey()))));
+        }
+
+        similarAdapter.setMovies(extras.getSimilar());
+        setVisible(!extras.getSimilar().isEmpty(), titleSimilar, recyclerViewSimilar);
+    }
+
+    private static void setVisible(boolean visible, View... views) {
+        for (View view : views) {
+            view.setVisibility(visible ? View.VISIBLE : View.GONE);
+        }
+    }
+
     // Mengatur listener untuk tombol-tombol
     private void setupListeners() {
         btnFavorite.setOnClickListener(v -> {
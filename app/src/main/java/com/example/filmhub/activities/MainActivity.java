@@ -1,22 +1,45 @@
 package com.example.filmhub.activities;
 
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
+import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar; // <-- Import Toolbar
 import androidx.core.content.ContextCompat;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.navigation.ui.NavigationUI;
 import com.example.filmhub.R; // Sesuaikan
+import com.example.filmhub.data.backup.BackupStatus;
+import com.example.filmhub.data.backup.JournalBackup;
+import com.example.filmhub.data.repository.MovieRepository;
 import com.example.filmhub.utils.ThemeManager; // Sesuaikan
+import com.example.filmhub.viewmodel.BackupViewModel;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.android.material.snackbar.Snackbar;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
 
 public class MainActivity extends AppCompatActivity {
 
+    private BackupViewModel backupViewModel;
+    private Snackbar backupSnackbar;
+
+    // Pemilih file dari Storage Access Framework untuk ekspor/impor jurnal
+    private final ActivityResultLauncher<String> exportLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(JournalBackup.MIME_TYPE), this::onExportTargetChosen);
+    private final ActivityResultLauncher<String[]> importLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::onImportSourceChosen);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -38,6 +61,19 @@ public class MainActivity extends AppCompatActivity {
         if (getSupportActionBar() != null) {
             getSupportActionBar().setDisplayShowTitleEnabled(false);
         }
+
+        backupViewModel = new ViewModelProvider(this).get(BackupViewModel.class);
+        backupViewModel.getBackupStatus().observe(this, this::showBackupStatus);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        // Aplikasi benar-benar ditutup (bukan rotasi): selesaikan tulis yang mengantre,
+        // tutup database, dan hentikan thread I/O
+        if (isFinishing() && !isChangingConfigurations()) {
+            MovieRepository.shutdown();
+        }
     }
 
     // --- Bagian dari Kode Revisi (Setup Menu & Tema) ---
@@ -69,9 +105,58 @@ public class MainActivity extends AppCompatActivity {
             toggleTheme();
             return true;
         }
+        if (item.getItemId() == R.id.action_export_journal || item.getItemId() == R.id.action_import_journal) {
+            if (backupViewModel.isRunning()) {
+                Toast.makeText(this, "Ekspor/impor sebelumnya masih berjalan", Toast.LENGTH_SHORT).show();
+            } else if (item.getItemId() == R.id.action_export_journal) {
+                String date = new SimpleDateFormat("yyyyMMdd", Locale.US).format(new Date());
+                exportLauncher.launch("filmhub-jurnal-" + date + ".jsonl");
+            } else {
+                // File .jsonl sering tidak punya MIME type yang dikenali, jadi semua file ditampilkan
+                importLauncher.launch(new String[]{"*/*"});
+            }
+            return true;
+        }
         return super.onOptionsItemSelected(item);
     }
 
+    private void onExportTargetChosen(Uri uri) {
+        if (uri != null) {
+            backupViewModel.exportJournal(uri);
+        }
+    }
+
+    private void onImportSourceChosen(Uri uri) {
+        if (uri != null) {
+            backupViewModel.importJournal(uri);
+        }
+    }
+
+    // Progres ditampilkan di Snackbar yang diperbarui, hasil akhir beserta throughput-nya di Toast
+    private void showBackupStatus(BackupStatus status) {
+        if (status == null) return;
+        if (status.state == BackupStatus.State.RUNNING) {
+            String text = "Memproses jurnal... " + status.rows + " catatan";
+            if (backupSnackbar == null) {
+                backupSnackbar = Snackbar.make(findViewById(android.R.id.content), text, Snackbar.LENGTH_INDEFINITE);
+                backupSnackbar.setAnchorView(R.id.bottom_navigation);
+                backupSnackbar.show();
+            } else {
+                backupSnackbar.setText(text);
+            }
+            return;
+        }
+        if (backupSnackbar != null) {
+            backupSnackbar.dismiss();
+            backupSnackbar = null;
+        }
+        String message = status.state == BackupStatus.State.DONE
+                ? status.rows + " catatan selesai diproses (" + status.getRowsPerSecond() + " catatan/detik)"
+                : "Gagal: " + status.errorMessage;
+        Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+        backupViewModel.onFinishedStatusShown();
+    }
+
     private void toggleTheme() {
         String currentTheme = ThemeManager.getTheme(this);
         String nextTheme = currentTheme.equals(ThemeManager.THEME_DARK) ? ThemeManager.THEME_LIGHT : ThemeManager.THEME_DARK;
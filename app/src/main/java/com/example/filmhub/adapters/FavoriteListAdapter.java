@@ -0,0 +1,84 @@
+package com.example.filmhub.adapters;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.filmhub.database.projections.FavoriteListItem;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Adapter grid favorit. Membind proyeksi FavoriteListItem langsung dari Room,
+ * tanpa konversi ke Movie, dengan ViewHolder yang sama seperti grid di Home (PosterGridViewHolder).
+ */
+public class FavoriteListAdapter extends RecyclerView.Adapter<PosterGridViewHolder> {
+
+    private static final DiffUtil.ItemCallback<FavoriteListItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<FavoriteListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FavoriteListItem oldItem, @NonNull FavoriteListItem newItem) {
+            return oldItem.movieId == newItem.movieId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FavoriteListItem oldItem, @NonNull FavoriteListItem newItem) {
+            return Objects.equals(oldItem.title, newItem.title)
+                    && Objects.equals(oldItem.posterPath, newItem.posterPath);
+        }
+    };
+
+    private final AsyncListDiffer<FavoriteListItem> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final MovieListAdapter.OnMovieItemClickListener listener;
+
+    private final PosterGridViewHolder.PosterSize posterSize = new PosterGridViewHolder.PosterSize();
+
+    public FavoriteListAdapter(MovieListAdapter.OnMovieItemClickListener listener) {
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public PosterGridViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = PosterGridViewHolder.inflate(parent, posterSize);
+        return new PosterGridViewHolder(view, posterSize);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull PosterGridViewHolder holder, int position) {
+        FavoriteListItem item = differ.getCurrentList().get(position);
+        if (item == null) {
+            holder.bindPlaceholder();
+            return;
+        }
+        holder.bindPoster(item.title, item.posterPath, v -> {
+            if (listener != null) {
+                listener.onMovieClick(item.movieId);
+            }
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        FavoriteListItem item = differ.getCurrentList().get(position);
+        // Placeholder mendapat id negatif berdasarkan posisi agar tidak bentrok dengan movie_id
+        return item != null ? item.movieId : -(position + 1L);
+    }
+
+    /**
+     * List boleh berisi null sebagai placeholder untuk baris yang belum dimuat dari database.
+     */
+    public void setFavoriteList(List<FavoriteListItem> favoriteList) {
+        differ.submitList(favoriteList);
+    }
+}
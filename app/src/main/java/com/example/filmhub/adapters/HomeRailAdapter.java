@@ -0,0 +1,137 @@
+package com.example.filmhub.adapters;
+
+import android.os.Parcelable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.filmhub.R;
+import com.example.filmhub.data.paging.HomeRail;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter untuk rail horizontal di atas grid Home (dipasang lewat ConcatAdapter).
+ * Setiap rail berisi RecyclerView horizontal; semuanya memakai satu RecycledViewPool bersama
+ * sehingga item film yang keluar dari satu rail langsung dipakai rail lain tanpa inflate ulang.
+ */
+public class HomeRailAdapter extends RecyclerView.Adapter<HomeRailAdapter.RailViewHolder> {
+
+    // Jumlah item rail yang di-prefetch saat rail baru akan masuk layar (kira-kira satu layar penuh)
+    private static final int RAIL_INITIAL_PREFETCH_ITEMS = 4;
+    private static final int RAIL_POOL_SIZE = 20;
+
+    /**
+     * HomeRail immutable: identitas dari id, isi dianggap sama hanya jika objeknya sama.
+     */
+    private static final DiffUtil.ItemCallback<HomeRail> DIFF_CALLBACK = new DiffUtil.ItemCallback<HomeRail>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull HomeRail oldItem, @NonNull HomeRail newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull HomeRail oldItem, @NonNull HomeRail newItem) {
+            return oldItem == newItem;
+        }
+    };
+
+    private final AsyncListDiffer<HomeRail> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final MovieListAdapter.OnMovieItemClickListener listener;
+    private final RecyclerView.RecycledViewPool sharedPool = new RecyclerView.RecycledViewPool();
+    // Posisi scroll horizontal per rail, agar tidak kembali ke awal saat rail di-recycle
+    private final Map<String, Parcelable> scrollStates = new HashMap<>();
+
+    public HomeRailAdapter(MovieListAdapter.OnMovieItemClickListener listener) {
+        this.listener = listener;
+        // Semua rail memakai view type 0 di RailMovieAdapter
+        sharedPool.setMaxRecycledViews(0, RAIL_POOL_SIZE);
+        setHasStableIds(true);
+    }
+
+    public void setRails(List<HomeRail> rails) {
+        differ.submitList(rails);
+    }
+
+    @NonNull
+    @Override
+    public RailViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_home_rail, parent, false);
+        return new RailViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RailViewHolder holder, int position) {
+        holder.bind(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RailViewHolder holder) {
+        holder.saveScrollState();
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
+    }
+
+    class RailViewHolder extends RecyclerView.ViewHolder {
+        final TextView tvTitle;
+        final RecyclerView recyclerView;
+        final LinearLayoutManager layoutManager;
+        final RailMovieAdapter adapter;
+        private String boundKey;
+
+        RailViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvTitle = itemView.findViewById(R.id.tv_rail_title);
+            recyclerView = itemView.findViewById(R.id.recycler_view_rail);
+
+            layoutManager = new LinearLayoutManager(itemView.getContext(), LinearLayoutManager.HORIZONTAL, false);
+            layoutManager.setInitialPrefetchItemCount(RAIL_INITIAL_PREFETCH_ITEMS);
+            // Item dikembalikan ke pool bersama saat rail ini di-recycle
+            layoutManager.setRecycleChildrenOnDetach(true);
+            recyclerView.setLayoutManager(layoutManager);
+            recyclerView.setRecycledViewPool(sharedPool);
+            recyclerView.setHasFixedSize(true);
+            adapter = new RailMovieAdapter(listener);
+            recyclerView.setAdapter(adapter);
+        }
+
+        void bind(HomeRail rail) {
+            boolean sameRail = rail.getKey().equals(boundKey);
+            boundKey = rail.getKey();
+            tvTitle.setText(rail.getTitle());
+            adapter.setMovies(rail.getMovies());
+            if (sameRail) return; // Misal rail yang sama baru dimuat ulang; posisi scroll dibiarkan
+
+            Parcelable state = scrollStates.remove(rail.getKey());
+            if (state != null) {
+                layoutManager.onRestoreInstanceState(state);
+            } else {
+                layoutManager.scrollToPosition(0);
+            }
+        }
+
+        void saveScrollState() {
+            if (boundKey != null) {
+                scrollStates.put(boundKey, layoutManager.onSaveInstanceState());
+                boundKey = null;
+            }
+        }
+    }
+}
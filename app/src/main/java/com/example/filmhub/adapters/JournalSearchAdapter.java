@@ -0,0 +1,118 @@
+package com.example.filmhub.adapters;
+
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.filmhub.R;
+import com.example.filmhub.database.projections.JournalSearchResult;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Adapter hasil pencarian jurnal. Kata yang cocok di snippet ditampilkan tebal.
+ */
+public class JournalSearchAdapter extends RecyclerView.Adapter<JournalSearchAdapter.SearchViewHolder> {
+
+    // Identitas item adalah rowid FTS (film + sumber: jurnal atau favorit)
+    private static final DiffUtil.ItemCallback<JournalSearchResult> DIFF_CALLBACK = new DiffUtil.ItemCallback<JournalSearchResult>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull JournalSearchResult oldItem, @NonNull JournalSearchResult newItem) {
+            return oldItem.rowId == newItem.rowId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull JournalSearchResult oldItem, @NonNull JournalSearchResult newItem) {
+            return Objects.equals(oldItem.title, newItem.title)
+                    && Objects.equals(oldItem.snippet, newItem.snippet);
+        }
+    };
+
+    private final AsyncListDiffer<JournalSearchResult> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private final MovieListAdapter.OnMovieItemClickListener listener;
+
+    public JournalSearchAdapter(MovieListAdapter.OnMovieItemClickListener listener) {
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public SearchViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_journal_search, parent, false);
+        return new SearchViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SearchViewHolder holder, int position) {
+        holder.bind(differ.getCurrentList().get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).rowId;
+    }
+
+    public void setResults(List<JournalSearchResult> results) {
+        differ.submitList(results);
+    }
+
+    // Mengganti penanda HIGHLIGHT_START/END dari snippet() menjadi teks tebal
+    static CharSequence highlight(String snippet) {
+        SpannableStringBuilder builder = new SpannableStringBuilder();
+        if (snippet == null) return builder;
+        int index = 0;
+        while (index < snippet.length()) {
+            int start = snippet.indexOf(JournalSearchResult.HIGHLIGHT_START, index);
+            if (start < 0) break;
+            int end = snippet.indexOf(JournalSearchResult.HIGHLIGHT_END, start);
+            if (end < 0) break;
+            builder.append(snippet, index, start);
+            int spanStart = builder.length();
+            builder.append(snippet, start + JournalSearchResult.HIGHLIGHT_START.length(), end);
+            builder.setSpan(new StyleSpan(Typeface.BOLD), spanStart, builder.length(),
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            index = end + JournalSearchResult.HIGHLIGHT_END.length();
+        }
+        builder.append(snippet, index, snippet.length());
+        return builder;
+    }
+
+    class SearchViewHolder extends RecyclerView.ViewHolder {
+        TextView tvTitle, tvSource, tvSnippet;
+
+        SearchViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvTitle = itemView.findViewById(R.id.tv_search_title);
+            tvSource = itemView.findViewById(R.id.tv_search_source);
+            tvSnippet = itemView.findViewById(R.id.tv_search_snippet);
+        }
+
+        void bind(JournalSearchResult result) {
+            tvTitle.setText(result.title);
+            tvSource.setText(result.isFavorite() ? "Favorit" : "Riwayat Tontonan");
+            tvSnippet.setText(highlight(result.snippet));
+            itemView.setOnClickListener(v -> {
+                if (listener != null) {
+                    listener.onMovieClick(result.getMovieId());
+                }
+            });
+        }
+    }
+}
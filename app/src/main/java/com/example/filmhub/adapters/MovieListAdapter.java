@@ -1,31 +1,56 @@
 package com.example.filmhub.adapters;
 
-import android.content.Context;
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
-import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.filmhub.R;
+import com.example.filmhub.data.cache.MembershipIndex;
 import com.example.filmhub.data.model.Movie;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter untuk menampilkan daftar film dalam sebuah RecyclerView.
- * Digunakan oleh HomeFragment dan FavoriteFragment.
+ * Digunakan oleh HomeFragment (FavoriteFragment memakai FavoriteListAdapter).
  */
 public class MovieListAdapter extends RecyclerView.Adapter<MovieListAdapter.MovieViewHolder> {
 
-    private List<Movie> movieList;
+    /**
+     * Aturan DiffUtil: identitas item adalah id film, isi dianggap sama jika
+     * field yang ditampilkan (judul dan poster) tidak berubah.
+     */
+    private static final DiffUtil.ItemCallback<Movie> DIFF_CALLBACK = new DiffUtil.ItemCallback<Movie>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Movie oldItem, @NonNull Movie newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getPosterPath(), newItem.getPosterPath());
+        }
+    };
+
+    // AsyncListDiffer menghitung perbedaan list di background thread, lalu hanya
+    // memberi tahu RecyclerView item mana yang berubah, bertambah, atau terhapus.
+    private final AsyncListDiffer<Movie> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final OnMovieItemClickListener listener;
-    private Context context;
+    private final PosterGridViewHolder.PosterSize posterSize = new PosterGridViewHolder.PosterSize();
+
+    // Opsional: preloader poster yang perlu tahu poster mana yang di-bind (untuk hit rate)
+    private PosterPreloader posterPreloader;
+
+    // Opsional: indeks favorit/tontonan untuk badge. Payload ini hanya me-rebind badge, bukan poster.
+    private static final Object PAYLOAD_MEMBERSHIP = new Object();
+    private MembershipIndex membershipIndex;
 
     /**
      * Interface untuk menangani event klik pada setiap item di RecyclerView.
@@ -33,68 +58,143 @@ public class MovieListAdapter extends RecyclerView.Adapter<MovieListAdapter.Movi
      */
     public interface OnMovieItemClickListener {
         void onMovieClick(int movieId);
+
+        /**
+         * Dipanggil adapter yang sudah memegang data film. Ukuran poster adalah ukuran decode poster
+         * di daftar, agar layar detail bisa memakai bitmap yang sama dari memory cache Glide.
+         * Default-nya hanya meneruskan id.
+         */
+        default void onMovieClick(Movie movie, int posterWidthPx, int posterHeightPx) {
+            onMovieClick(movie.getId());
+        }
     }
 
     // Constructor untuk adapter, menerima listener sebagai parameter.
     public MovieListAdapter(OnMovieItemClickListener listener) {
         this.listener = listener;
-        this.movieList = new ArrayList<>(); // Inisialisasi list agar tidak null
+        // Stable id memungkinkan RecyclerView mempertahankan ViewHolder film yang sama antar update
+        setHasStableIds(true);
     }
 
     @NonNull
     @Override
     public MovieViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        // Mendapatkan context dari parent
-        this.context = parent.getContext();
         // Membuat view baru dari layout item_movie.xml
-        View view = LayoutInflater.from(context).inflate(R.layout.item_movie, parent, false);
+        View view = PosterGridViewHolder.inflate(parent, posterSize);
         return new MovieViewHolder(view);
     }
 
+    public void setPosterPreloader(PosterPreloader posterPreloader) {
+        this.posterPreloader = posterPreloader;
+    }
+
+    public void setMembershipIndex(MembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+        onMembershipChanged();
+    }
+
+    /**
+     * Dipanggil saat isi indeks favorit/tontonan berubah: badge semua item di-bind ulang
+     * lewat payload, tanpa memuat ulang poster atau judul.
+     */
+    public void onMembershipChanged() {
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_MEMBERSHIP);
+    }
+
+    /**
+     * Mengambil film pada posisi tertentu, null jika posisi tersebut placeholder.
+     */
+    public Movie getItem(int position) {
+        List<Movie> currentList = differ.getCurrentList();
+        return position >= 0 && position < currentList.size() ? currentList.get(position) : null;
+    }
+
+    public int getPosterWidthPx() {
+        return posterSize.widthPx;
+    }
+
+    public int getPosterHeightPx() {
+        return posterSize.heightPx;
+    }
+
     @Override
     public void onBindViewHolder(@NonNull MovieViewHolder holder, int position) {
         // Mendapatkan data film pada posisi tertentu
-        Movie movie = movieList.get(position);
+        Movie movie = differ.getCurrentList().get(position);
         // Mengikat data ke ViewHolder
         holder.bind(movie, listener);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull MovieViewHolder holder, int position, @NonNull List<Object> payloads) {
+        // Semua payload hanya berisi perubahan badge: cukup perbarui badge saja
+        boolean membershipOnly = !payloads.isEmpty();
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) != PAYLOAD_MEMBERSHIP) {
+                membershipOnly = false;
+                break;
+            }
+        }
+        if (membershipOnly) {
+            holder.bindBadges(differ.getCurrentList().get(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
     @Override
     public int getItemCount() {
         // Mengembalikan jumlah total item dalam list
-        return movieList != null ? movieList.size() : 0;
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Movie movie = differ.getCurrentList().get(position);
+        // Placeholder mendapat id negatif berdasarkan posisi agar tidak bentrok dengan id film TMDb
+        return movie != null ? movie.getId() : -(position + 1L);
     }
 
     /**
      * Metode untuk mengupdate daftar film di adapter dan memberitahu RecyclerView untuk refresh.
      * Dipanggil dari Fragment setelah mendapatkan data baru dari ViewModel.
+     * List boleh berisi null sebagai placeholder halaman yang sudah dibuang dari memori.
+     * Perbedaan dengan list lama dihitung di background, sehingga hanya item yang berubah
+     * yang di-bind ulang dan item yang ditambahkan dianimasikan sebagai insert.
+     * List yang dikirim tidak boleh diubah lagi setelahnya.
      * @param movieList Daftar film yang baru.
      */
     public void setMovieList(List<Movie> movieList) {
-        this.movieList = movieList;
-        notifyDataSetChanged(); // Cara sederhana. Untuk performa lebih baik, gunakan DiffUtil.
+        differ.submitList(movieList);
     }
 
-    // REVISI: Tambahkan metode ini untuk pagination
-    public void addMovies(List<Movie> newMovies) {
-        int startPosition = movieList.size();
-        movieList.addAll(newMovies);
-        notifyItemRangeInserted(startPosition, newMovies.size());
+    /**
+     * Sama seperti setMovieList, tetapi onCommitted dipanggil setelah diff selesai diterapkan
+     * (misal untuk scroll ke posisi yang baru ada setelah daftar diperbarui).
+     */
+    public void setMovieList(List<Movie> movieList, Runnable onCommitted) {
+        differ.submitList(movieList, onCommitted);
     }
 
     /**
      * ViewHolder yang merepresentasikan satu item tampilan (satu film) di RecyclerView.
      */
-    public class MovieViewHolder extends RecyclerView.ViewHolder {
-        // Deklarasi komponen UI di dalam item layout
-        ImageView ivPoster;
-        TextView tvTitle;
+    public class MovieViewHolder extends PosterGridViewHolder {
+        // Badge hanya ada di grid Home; judul dan poster diurus PosterGridViewHolder
+        ImageView ivBadgeFavorite, ivBadgeWatched;
 
         public MovieViewHolder(@NonNull View itemView) {
-            super(itemView);
-            // Inisialisasi view dari layout item_movie.xml
-            ivPoster = itemView.findViewById(R.id.iv_item_poster); // Ganti dengan ID Anda
-            tvTitle = itemView.findViewById(R.id.tv_item_title);   // Ganti dengan ID Anda
+            super(itemView, posterSize);
+            ivBadgeFavorite = itemView.findViewById(R.id.iv_badge_favorite);
+            ivBadgeWatched = itemView.findViewById(R.id.iv_badge_watched);
+        }
+
+        // Lookup O(1) di IntHashSet, tanpa query database dan tanpa alokasi
+        void bindBadges(Movie movie) {
+            boolean favorite = movie != null && membershipIndex != null && membershipIndex.isFavorite(movie.getId());
+            boolean watched = movie != null && membershipIndex != null && membershipIndex.isWatched(movie.getId());
+            ivBadgeFavorite.setVisibility(favorite ? View.VISIBLE : View.GONE);
+            ivBadgeWatched.setVisibility(watched ? View.VISIBLE : View.GONE);
         }
 
         /**
@@ -103,37 +203,21 @@ public class MovieListAdapter extends RecyclerView.Adapter<MovieListAdapter.Movi
          * @param listener Listener untuk event klik.
          */
         public void bind(final Movie movie, final OnMovieItemClickListener listener) {
-            tvTitle.setText(movie.getTitle());
-
-            // ===================================================================================
-            // REVISI: Tambahkan pengecekan null sebelum memuat gambar
-            // ===================================================================================
-
-            // 1. Ambil path posternya dulu
-            String posterPath = movie.getPosterPath();
-
-            // 2. Cek apakah path-nya ada dan tidak kosong
-            if (posterPath != null && !posterPath.isEmpty()) {
-                // KONDISI SUKSES: Jika ada, bangun URL dan muat dengan Glide
-                String imageUrl = "https://image.tmdb.org/t/p/w500" + posterPath;
-                Glide.with(itemView.getContext())
-                        .load(imageUrl)
-                        .placeholder(R.drawable.ic_image_placeholder) // Gambar saat loading
-                        .error(R.drawable.ic_broken_image_placeholder)   // Gambar jika URL error
-                        .into(ivPoster);
-            } else {
-                // KONDISI GAGAL: Jika tidak ada path, tampilkan gambar default
-                Glide.with(itemView.getContext())
-                        .load(R.drawable.ic_broken_image_placeholder) // Atau placeholder lain
-                        .into(ivPoster);
+            bindBadges(movie);
+            // Item null adalah placeholder untuk halaman yang sedang dimuat ulang dari cache
+            if (movie == null) {
+                bindPlaceholder();
+                return;
             }
 
-            // Mengatur OnClickListener pada seluruh item view (tidak berubah)
-            itemView.setOnClickListener(v -> {
+            bindPoster(movie.getTitle(), movie.getPosterPath(), v -> {
                 if (listener != null) {
-                    listener.onMovieClick(movie.getId());
+                    listener.onMovieClick(movie, posterSize.widthPx, posterSize.heightPx);
                 }
             });
+            if (posterPreloader != null) {
+                posterPreloader.onPosterBound(movie);
+            }
         }
     }
 }
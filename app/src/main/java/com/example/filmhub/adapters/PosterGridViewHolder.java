@@ -0,0 +1,70 @@
+package com.example.filmhub.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.example.filmhub.R;
+import com.example.filmhub.utils.PosterImageLoader;
+
+/**
+ * ViewHolder satu sel grid poster (item_movie), dipakai bersama oleh MovieListAdapter (Home)
+ * dan FavoriteListAdapter. Berisi judul, poster dengan ukuran decode sel grid, placeholder,
+ * dan klik item; adapter cukup menentukan data apa yang di-bind.
+ */
+public class PosterGridViewHolder extends RecyclerView.ViewHolder {
+
+    /**
+     * Ukuran target poster dalam piksel, sama untuk semua sel di satu grid.
+     * Dihitung sekali dari lebar kolom grid saat ViewHolder pertama dibuat.
+     */
+    static class PosterSize {
+        int widthPx = 0;
+        int heightPx = 0;
+    }
+
+    final ImageView ivPoster;
+    final TextView tvTitle;
+    final PosterSize posterSize;
+
+    PosterGridViewHolder(@NonNull View itemView, PosterSize posterSize) {
+        super(itemView);
+        ivPoster = itemView.findViewById(R.id.iv_item_poster);
+        tvTitle = itemView.findViewById(R.id.tv_item_title);
+        this.posterSize = posterSize;
+    }
+
+    /**
+     * Meng-inflate item_movie untuk grid dan, jika belum, menghitung ukuran poster grid tersebut.
+     */
+    static View inflate(@NonNull ViewGroup parent, PosterSize posterSize) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_movie, parent, false);
+        if (posterSize.widthPx == 0) {
+            posterSize.widthPx = PosterImageLoader.gridPosterWidth(parent);
+            posterSize.heightPx = view.findViewById(R.id.iv_item_poster).getLayoutParams().height;
+        }
+        return view;
+    }
+
+    // Item null adalah placeholder untuk baris/halaman yang sedang dimuat
+    void bindPlaceholder() {
+        tvTitle.setText("");
+        Glide.with(itemView.getContext()).clear(ivPoster);
+        ivPoster.setImageResource(R.drawable.ic_image_placeholder);
+        itemView.setOnClickListener(null);
+    }
+
+    // Poster dimuat dengan ukuran TMDb yang sesuai lebar sel grid, bukan selalu w500.
+    // Jika path kosong, helper menampilkan gambar default.
+    void bindPoster(String title, String posterPath, View.OnClickListener onClick) {
+        tvTitle.setText(title);
+        PosterImageLoader.load(ivPoster, posterPath, posterSize.widthPx, posterSize.heightPx);
+        itemView.setOnClickListener(onClick);
+    }
+}
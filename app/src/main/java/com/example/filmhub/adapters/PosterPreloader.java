@@ -0,0 +1,174 @@
+package com.example.filmhub.adapters;
+
+import android.graphics.drawable.Drawable;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.utils.PosterImageLoader;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Preloader poster berbasis viewport untuk grid film.
+ * Saat RecyclerView di-scroll, poster untuk N baris berikutnya (searah scroll) diunduh dan
+ * di-decode lebih dulu ke memory cache Glide dengan ukuran dan opsi yang sama persis dengan
+ * yang dipakai adapter, sehingga saat ViewHolder di-bind poster langsung tampil.
+ * Preload yang keluar dari jangkauan dibatalkan. Hit rate dihitung untuk pemantauan (getHitRate).
+ */
+public class PosterPreloader extends RecyclerView.OnScrollListener {
+
+    private final RequestManager requestManager;
+    private final MovieListAdapter adapter;
+    private final GridLayoutManager layoutManager;
+    private final int rowsAhead;
+
+    // Preload yang sedang aktif, dikunci berdasarkan posisi adapter
+    private final SparseArray<Target<Drawable>> activePreloads = new SparseArray<>();
+    // Id film yang posternya sudah selesai di-preload ke memory cache
+    private final SparseBooleanArray preloadedMovieIds = new SparseBooleanArray();
+
+    // Jumlah item di atas grid (misal rail lewat ConcatAdapter); posisi grid = posisi layout - offset
+    private IntSupplier leadingItemCount = () -> 0;
+
+    private int rangeStart = -1;
+    private int rangeEnd = -1;
+
+    private int hitCount = 0;
+    private int missCount = 0;
+
+    public PosterPreloader(RequestManager requestManager, MovieListAdapter adapter,
+                           GridLayoutManager layoutManager, int rowsAhead) {
+        this.requestManager = requestManager;
+        this.adapter = adapter;
+        this.layoutManager = layoutManager;
+        this.rowsAhead = rowsAhead;
+    }
+
+    /**
+     * Dipakai jika adapter film bukan satu-satunya adapter di RecyclerView (ConcatAdapter),
+     * agar posisi LayoutManager bisa diterjemahkan ke posisi di adapter film.
+     */
+    public void setLeadingItemCount(IntSupplier leadingItemCount) {
+        this.leadingItemCount = leadingItemCount;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0) return;
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first < 0 || last < 0) return;
+
+        int offset = leadingItemCount.getAsInt();
+        first = Math.max(0, first - offset);
+        last -= offset;
+        if (last < 0) return;
+
+        int itemsAhead = rowsAhead * layoutManager.getSpanCount();
+        int start;
+        int end;
+        if (dy > 0) {
+            start = last + 1;
+            end = Math.min(adapter.getItemCount() - 1, last + itemsAhead);
+        } else {
+            start = Math.max(0, first - itemsAhead);
+            end = first - 1;
+        }
+        updateRange(start, end);
+    }
+
+    private void updateRange(int start, int end) {
+        if (start == rangeStart && end == rangeEnd) return;
+        rangeStart = start;
+        rangeEnd = end;
+
+        // Batalkan preload yang sudah keluar dari jangkauan
+        for (int i = activePreloads.size() - 1; i >= 0; i--) {
+            int position = activePreloads.keyAt(i);
+            if (position < start || position > end) {
+                requestManager.clear(activePreloads.valueAt(i));
+                activePreloads.removeAt(i);
+            }
+        }
+
+        for (int position = start; position <= end; position++) {
+            if (activePreloads.get(position) != null) continue;
+            Movie movie = adapter.getItem(position);
+            if (movie == null || preloadedMovieIds.get(movie.getId())) continue;
+            Target<Drawable> target = preload(movie);
+            if (target != null) {
+                activePreloads.put(position, target);
+            }
+        }
+    }
+
+    @Nullable
+    private Target<Drawable> preload(Movie movie) {
+        int width = adapter.getPosterWidthPx();
+        int height = adapter.getPosterHeightPx();
+        if (width <= 0 || height <= 0) return null;
+        RequestBuilder<Drawable> request = PosterImageLoader.posterRequest(
+                requestManager, movie.getPosterPath(), width, height);
+        if (request == null) return null;
+
+        final int movieId = movie.getId();
+        return request.listener(new RequestListener<Drawable>() {
+            @Override
+            public boolean onLoadFailed(@Nullable GlideException e, Object model,
+                                        @NonNull Target<Drawable> target, boolean isFirstResource) {
+                return false;
+            }
+
+            @Override
+            public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                           Target<Drawable> target, @NonNull DataSource dataSource,
+                                           boolean isFirstResource) {
+                preloadedMovieIds.put(movieId, true);
+                return false;
+            }
+        }).preload(width, height);
+    }
+
+    /**
+     * Dipanggil adapter setiap kali poster sebuah film di-bind, untuk menghitung hit rate preload.
+     */
+    public void onPosterBound(Movie movie) {
+        if (movie.getPosterPath() == null || movie.getPosterPath().isEmpty()) return;
+        if (preloadedMovieIds.get(movie.getId())) {
+            hitCount++;
+            // Sudah terpakai, hapus agar set ini tidak tumbuh tanpa batas
+            preloadedMovieIds.delete(movie.getId());
+        } else {
+            missCount++;
+        }
+    }
+
+    public float getHitRate() {
+        int total = hitCount + missCount;
+        return total == 0 ? 0f : (float) hitCount / total;
+    }
+
+    /**
+     * Membatalkan semua preload yang masih berjalan, misalnya saat view Fragment dihancurkan.
+     */
+    public void cancelAll() {
+        for (int i = 0; i < activePreloads.size(); i++) {
+            requestManager.clear(activePreloads.valueAt(i));
+        }
+        activePreloads.clear();
+        rangeStart = -1;
+        rangeEnd = -1;
+    }
+}
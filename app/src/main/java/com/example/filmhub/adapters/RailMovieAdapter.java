@@ -0,0 +1,95 @@
+package com.example.filmhub.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.filmhub.R;
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.utils.PosterImageLoader;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter untuk isi satu rail horizontal di Home.
+ * ViewHolder-nya diambil dari RecycledViewPool yang dipakai bersama semua rail,
+ * sehingga rail yang baru tampil tidak meng-inflate item sendiri.
+ */
+public class RailMovieAdapter extends RecyclerView.Adapter<RailMovieAdapter.RailMovieViewHolder> {
+
+    private final MovieListAdapter.OnMovieItemClickListener listener;
+    private List<Movie> movies = Collections.emptyList();
+
+    public RailMovieAdapter(MovieListAdapter.OnMovieItemClickListener listener) {
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Isi rail diganti seluruhnya: rail hanya dimuat sekali, dan saat ViewHolder rail
+     * dipakai ulang untuk rail lain isinya memang berbeda semua.
+     */
+    public void setMovies(List<Movie> movies) {
+        if (this.movies == movies) return;
+        this.movies = movies != null ? movies : Collections.emptyList();
+        notifyDataSetChanged();
+    }
+
+    @NonNull
+    @Override
+    public RailMovieViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_rail_movie, parent, false);
+        return new RailMovieViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RailMovieViewHolder holder, int position) {
+        holder.bind(movies.get(position), listener);
+    }
+
+    @Override
+    public int getItemCount() {
+        return movies.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return movies.get(position).getId();
+    }
+
+    /**
+     * Static karena ViewHolder berpindah antar adapter rail lewat pool bersama: tidak boleh menyimpan
+     * state milik adapter yang membuatnya. Listener diberikan ulang di setiap bind.
+     */
+    static class RailMovieViewHolder extends RecyclerView.ViewHolder {
+        final ImageView ivPoster;
+        final TextView tvTitle;
+        // Ukuran poster dari layout item (lebar kartu x tinggi poster), sama untuk semua rail
+        final int posterWidthPx;
+        final int posterHeightPx;
+
+        RailMovieViewHolder(@NonNull View itemView) {
+            super(itemView);
+            ivPoster = itemView.findViewById(R.id.iv_rail_poster);
+            tvTitle = itemView.findViewById(R.id.tv_rail_movie_title);
+            posterWidthPx = itemView.getLayoutParams().width;
+            posterHeightPx = ivPoster.getLayoutParams().height;
+        }
+
+        void bind(Movie movie, MovieListAdapter.OnMovieItemClickListener listener) {
+            tvTitle.setText(movie.getTitle());
+            PosterImageLoader.load(ivPoster, movie.getPosterPath(), posterWidthPx, posterHeightPx);
+            itemView.setOnClickListener(v -> {
+                if (listener != null) {
+                    listener.onMovieClick(movie, posterWidthPx, posterHeightPx);
+                }
+            });
+        }
+    }
+}
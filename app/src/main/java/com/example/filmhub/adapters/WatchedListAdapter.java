@@ -7,18 +7,38 @@ import android.widget.ImageView;
 import android.widget.RatingBar;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.filmhub.R;
-import com.example.filmhub.database.entities.WatchedMovie;
-import java.util.ArrayList;
+import com.example.filmhub.database.projections.WatchedListItem;
+import com.example.filmhub.utils.PosterImageLoader;
 import java.util.List;
+import java.util.Objects;
 import android.widget.ImageButton;
 
 
 public class WatchedListAdapter extends RecyclerView.Adapter<WatchedListAdapter.WatchedViewHolder> {
 
-    private List<WatchedMovie> watchedMovieList = new ArrayList<>();
+    // Identitas item adalah movie_id, isi dibandingkan dari field yang ditampilkan
+    private static final DiffUtil.ItemCallback<WatchedListItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<WatchedListItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull WatchedListItem oldItem, @NonNull WatchedListItem newItem) {
+            return oldItem.movieId == newItem.movieId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull WatchedListItem oldItem, @NonNull WatchedListItem newItem) {
+            return oldItem.userRating == newItem.userRating
+                    && Objects.equals(oldItem.title, newItem.title)
+                    && Objects.equals(oldItem.posterPath, newItem.posterPath)
+                    && Objects.equals(oldItem.reviewSnippet, newItem.reviewSnippet);
+        }
+    };
+
+    // Diff dihitung di background, jadi invalidasi Room hanya me-rebind baris yang berubah
+    private final AsyncListDiffer<WatchedListItem> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnWatchedItemInteractionListener listener; // <-- REVISI: Tambahkan listener
 
     // REVISI: Tambahkan interface untuk interaksi
@@ -30,6 +50,7 @@ public class WatchedListAdapter extends RecyclerView.Adapter<WatchedListAdapter.
     // REVISI: Constructor sekarang menerima listener
     public WatchedListAdapter(OnWatchedItemInteractionListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -41,18 +62,27 @@ public class WatchedListAdapter extends RecyclerView.Adapter<WatchedListAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull WatchedViewHolder holder, int position) {
-        WatchedMovie watchedMovie = watchedMovieList.get(position);
+        WatchedListItem watchedMovie = differ.getCurrentList().get(position);
         holder.bind(watchedMovie);
     }
 
     @Override
     public int getItemCount() {
-        return watchedMovieList.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        WatchedListItem watchedMovie = differ.getCurrentList().get(position);
+        // Placeholder mendapat id negatif berdasarkan posisi agar tidak bentrok dengan movie_id
+        return watchedMovie != null ? watchedMovie.movieId : -(position + 1L);
     }
 
-    public void setWatchedMovieList(List<WatchedMovie> watchedMovieList) {
-        this.watchedMovieList = watchedMovieList;
-        notifyDataSetChanged();
+    /**
+     * List boleh berisi null sebagai placeholder untuk baris yang belum dimuat dari database.
+     */
+    public void setWatchedMovieList(List<WatchedListItem> watchedMovieList) {
+        differ.submitList(watchedMovieList);
     }
 
     class WatchedViewHolder extends RecyclerView.ViewHolder {
@@ -70,33 +100,25 @@ public class WatchedListAdapter extends RecyclerView.Adapter<WatchedListAdapter.
             btnDelete = itemView.findViewById(R.id.btn_delete_watched); // <-- REVISI: Inisialisasi
         }
 
-        public void bind(WatchedMovie movie) {
+        public void bind(WatchedListItem movie) {
+            // Item null adalah placeholder untuk chunk yang sedang dibaca dari database
+            if (movie == null) {
+                tvTitle.setText("");
+                tvReviewSnippet.setText("");
+                rbRating.setRating(0f);
+                Glide.with(itemView.getContext()).clear(ivPoster);
+                ivPoster.setImageResource(R.drawable.ic_image_placeholder);
+                btnDelete.setOnClickListener(null);
+                return;
+            }
+
             tvTitle.setText(movie.title);
-            tvReviewSnippet.setText(movie.userReview);
+            tvReviewSnippet.setText(movie.reviewSnippet);
             rbRating.setRating(movie.userRating);
 
-            // ===================================================================================
-            // REVISI: Tambahkan pengecekan null yang sama seperti di MovieListAdapter
-            // ===================================================================================
-
-            // 1. Ambil path posternya dulu
-            String posterPath = movie.posterPath;
-
-            // 2. Cek apakah path-nya ada dan tidak kosong
-            if (posterPath != null && !posterPath.isEmpty()) {
-                // KONDISI SUKSES: Jika ada, bangun URL dan muat dengan Glide
-                String imageUrl = "https://image.tmdb.org/t/p/w500" + posterPath;
-                Glide.with(itemView.getContext())
-                        .load(imageUrl)
-                        .placeholder(R.drawable.ic_image_placeholder)
-                        .error(R.drawable.ic_broken_image_placeholder)
-                        .into(ivPoster);
-            } else {
-                // KONDISI GAGAL: Jika tidak ada path, tampilkan gambar default
-                Glide.with(itemView.getContext())
-                        .load(R.drawable.ic_broken_image_placeholder)
-                        .into(ivPoster);
-            }
+            // Thumbnail 100x150dp cukup memakai ukuran TMDb kecil, di-decode tepat ke ukuran view
+            ViewGroup.LayoutParams posterParams = ivPoster.getLayoutParams();
+            PosterImageLoader.load(ivPoster, movie.posterPath, posterParams.width, posterParams.height);
 
             // Listener untuk tombol hapus (tidak berubah)
             btnDelete.setOnClickListener(v -> {
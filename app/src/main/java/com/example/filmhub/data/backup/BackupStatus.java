@@ -0,0 +1,44 @@
+package com.example.filmhub.data.backup;
+
+/**
+ * Status ekspor/impor jurnal yang diamati UI: jumlah baris yang sudah diproses dan waktu berjalan.
+ */
+public class BackupStatus {
+
+    public enum State {
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    public final State state;
+    public final int rows;
+    public final long elapsedMillis;
+    public final String errorMessage;
+
+    private BackupStatus(State state, int rows, long elapsedMillis, String errorMessage) {
+        this.state = state;
+        this.rows = rows;
+        this.elapsedMillis = elapsedMillis;
+        this.errorMessage = errorMessage;
+    }
+
+    public static BackupStatus running(int rows, long elapsedMillis) {
+        return new BackupStatus(State.RUNNING, rows, elapsedMillis, null);
+    }
+
+    public static BackupStatus done(int rows, long elapsedMillis) {
+        return new BackupStatus(State.DONE, rows, elapsedMillis, null);
+    }
+
+    public static BackupStatus failed(int rows, long elapsedMillis, String errorMessage) {
+        return new BackupStatus(State.FAILED, rows, elapsedMillis, errorMessage);
+    }
+
+    /**
+     * Throughput rata-rata sejak mulai, dalam baris per detik.
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis > 0 ? rows * 1000L / elapsedMillis : rows;
+    }
+}
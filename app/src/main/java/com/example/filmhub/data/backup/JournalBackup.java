@@ -0,0 +1,285 @@
+package com.example.filmhub.data.backup;
+
+import android.database.Cursor;
+
+import com.example.filmhub.database.dao.FavoriteMovieDao;
+import com.example.filmhub.database.dao.WatchedMovieDao;
+import com.example.filmhub.database.db.AppDatabase;
+import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.database.entities.WatchedMovie;
+import com.example.filmhub.utils.AppExecutors;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ekspor dan impor jurnal tontonan + favorit dalam format JSON Lines (satu objek JSON per baris).
+ * Keduanya streaming: ekspor membaca tabel lewat Cursor dan menulis baris demi baris, impor membaca
+ * baris demi baris dan menulis per batch, sehingga memori tetap datar berapa pun jumlah catatannya.
+ * Metode di sini blocking, jadi harus dipanggil dari background thread.
+ */
+public class JournalBackup {
+
+    public static final String MIME_TYPE = "application/x-ndjson";
+
+    private static final String FORMAT = "filmhub-journal";
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String TYPE_HEADER = "header";
+    private static final String TYPE_WATCHED = "watched";
+    private static final String TYPE_FAVORITE = "favorite";
+
+    // Jumlah baris per transaksi impor, sekaligus interval laporan progres
+    private static final int BATCH_SIZE = 500;
+    // Batas tunggu satu batch di writer; lebih dari ini dianggap executor sudah dihentikan
+    private static final long BATCH_TIMEOUT_SECONDS = 60;
+
+    // Batch impor yang sudah diantrekan ke writer. Pemanggil yang lebih dulu "mengklaim" batch menentukan
+    // nasibnya: writer menjalankannya, atau importFrom membatalkannya sebelum sempat ditulis.
+    private static class BatchWrite {
+        final AtomicBoolean claimed = new AtomicBoolean();
+        FutureTask<Void> task;
+    }
+
+    /**
+     * Dipanggil di thread ekspor/impor setiap kali sejumlah baris selesai diproses.
+     */
+    public interface ProgressListener {
+        void onProgress(int rows);
+    }
+
+    // Satu baris file. Field yang null tidak ikut ditulis oleh Gson.
+    private static class Record {
+        @SerializedName("type") String type;
+        @SerializedName("format") String format;
+        @SerializedName("version") Integer version;
+        @SerializedName("movie_id") Integer movieId;
+        @SerializedName("title") String title;
+        @SerializedName("poster_path") String posterPath;
+        @SerializedName("watched_date") Long watchedDate;
+        @SerializedName("user_rating") Float userRating;
+        @SerializedName("user_review") String userReview;
+        @SerializedName("runtime") Integer runtime;
+        @SerializedName("genres") String genres;
+    }
+
+    private final AppDatabase database;
+    private final FavoriteMovieDao favoriteMovieDao;
+    private final WatchedMovieDao watchedMovieDao;
+    private final AppExecutors executors;
+    private final Gson gson = new Gson();
+
+    public JournalBackup(AppDatabase database, AppExecutors executors) {
+        this.database = database;
+        this.favoriteMovieDao = database.favoriteMovieDao();
+        this.watchedMovieDao = database.watchedMovieDao();
+        this.executors = executors;
+    }
+
+    /**
+     * Menulis seluruh jurnal ke output. Stream tidak ditutup di sini.
+     * Kedua tabel dibaca dalam satu transaksi agar hasilnya satu snapshot yang konsisten; selama
+     * ekspor berjalan, tulis lain menunggu di writer.
+     *
+     * @return Jumlah catatan (tontonan + favorit) yang ditulis.
+     */
+    public int export(OutputStream output, ProgressListener listener) throws IOException {
+        // IOException dari Callable diteruskan apa adanya oleh runInTransaction (transaksi di-rollback)
+        return database.runInTransaction(() -> exportRows(output, listener));
+    }
+
+    private int exportRows(OutputStream output, ProgressListener listener) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        Record header = new Record();
+        header.type = TYPE_HEADER;
+        header.format = FORMAT;
+        header.version = FORMAT_VERSION;
+        writeLine(writer, header);
+
+        int rows = 0;
+        try (Cursor cursor = database.query("SELECT movie_id, title, poster_path, watched_date, user_rating, "
+                + "user_review, runtime, genres FROM watched_movies", null)) {
+            while (cursor.moveToNext()) {
+                Record record = new Record();
+                record.type = TYPE_WATCHED;
+                record.movieId = cursor.getInt(0);
+                record.title = cursor.isNull(1) ? null : cursor.getString(1);
+                record.posterPath = cursor.isNull(2) ? null : cursor.getString(2);
+                record.watchedDate = cursor.getLong(3);
+                record.userRating = cursor.getFloat(4);
+                record.userReview = cursor.isNull(5) ? null : cursor.getString(5);
+                record.runtime = cursor.getInt(6);
+                record.genres = cursor.isNull(7) ? null : cursor.getString(7);
+                writeLine(writer, record);
+                if (++rows % BATCH_SIZE == 0) listener.onProgress(rows);
+            }
+        }
+        try (Cursor cursor = database.query("SELECT movie_id, title, poster_path FROM favorite_movies", null)) {
+            while (cursor.moveToNext()) {
+                Record record = new Record();
+                record.type = TYPE_FAVORITE;
+                record.movieId = cursor.getInt(0);
+                record.title = cursor.isNull(1) ? null : cursor.getString(1);
+                record.posterPath = cursor.isNull(2) ? null : cursor.getString(2);
+                writeLine(writer, record);
+                if (++rows % BATCH_SIZE == 0) listener.onProgress(rows);
+            }
+        }
+        writer.flush();
+        listener.onProgress(rows);
+        return rows;
+    }
+
+    private void writeLine(Writer writer, Record record) throws IOException {
+        gson.toJson(record, writer);
+        writer.write('\n');
+    }
+
+    /**
+     * Membaca file ekspor dan menulis isinya ke database per batch (prioritas BULK di writer),
+     * sehingga aksi pengguna tetap bisa menyela di antara batch. Catatan yang sudah ada ditimpa.
+     * Satu batch boleh ditulis sementara batch berikutnya diparse; selebihnya ditahan, jadi memori tetap datar.
+     * Jika gagal di tengah jalan, batch yang sudah di-commit tetap tersimpan. Batch yang masih mengantre
+     * dibatalkan, dan yang sedang ditulis ditunggu sampai selesai, sehingga saat exception dilempar
+     * tidak ada lagi tulis impor yang tersisa.
+     *
+     * @return Jumlah catatan yang diimpor.
+     */
+    public int importFrom(InputStream input, ProgressListener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<Record> batch = new ArrayList<>(BATCH_SIZE);
+        BatchWrite inFlight = null;
+        int rows = 0;
+        int lineNumber = 0;
+        boolean headerSeen = false;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+                Record record;
+                try {
+                    record = gson.fromJson(line, Record.class);
+                } catch (JsonParseException e) {
+                    throw new IOException("Baris " + lineNumber + " bukan JSON yang valid", e);
+                }
+                if (record == null) continue;
+                if (!headerSeen) {
+                    if (!TYPE_HEADER.equals(record.type) || !FORMAT.equals(record.format)) {
+                        throw new IOException("Bukan file ekspor jurnal FilmHub");
+                    }
+                    if (record.version == null || record.version > FORMAT_VERSION) {
+                        throw new IOException("Versi file ekspor tidak didukung: " + record.version);
+                    }
+                    headerSeen = true;
+                    continue;
+                }
+                if (record.movieId == null) {
+                    throw new IOException("Baris " + lineNumber + " tidak memiliki movie_id");
+                }
+                // Tipe yang tidak dikenal (dari versi format yang lebih baru) dilewati
+                if (!TYPE_WATCHED.equals(record.type) && !TYPE_FAVORITE.equals(record.type)) continue;
+
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    awaitBatch(inFlight);
+                    rows += BATCH_SIZE;
+                    inFlight = writeBatch(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    listener.onProgress(rows);
+                }
+            }
+            if (!headerSeen) {
+                throw new IOException("File ekspor kosong");
+            }
+            awaitBatch(inFlight);
+            if (!batch.isEmpty()) {
+                rows += batch.size();
+                inFlight = writeBatch(batch);
+                awaitBatch(inFlight);
+            }
+        } catch (IOException | RuntimeException e) {
+            settle(inFlight);
+            throw e;
+        }
+        listener.onProgress(rows);
+        return rows;
+    }
+
+    private BatchWrite writeBatch(List<Record> batch) {
+        BatchWrite write = new BatchWrite();
+        write.task = new FutureTask<>(() -> {
+            // Sudah dibatalkan importFrom (misal setelah timeout): batch ini tidak ditulis
+            if (!write.claimed.compareAndSet(false, true)) return;
+            database.runInTransaction(() -> {
+                for (Record record : batch) {
+                    if (TYPE_WATCHED.equals(record.type)) {
+                        WatchedMovie watchedMovie = new WatchedMovie(record.movieId, record.title, record.posterPath,
+                                record.watchedDate != null ? record.watchedDate : 0L,
+                                record.userRating != null ? record.userRating : 0f,
+                                record.userReview,
+                                record.runtime != null ? record.runtime : 0);
+                        watchedMovie.genres = record.genres;
+                        // Lewat insertOrUpdate agar genre dan agregat jurnal ikut diperbarui
+                        watchedMovieDao.insertOrUpdate(watchedMovie);
+                    } else {
+                        favoriteMovieDao.insert(new FavoriteMovie(record.movieId, record.title, record.posterPath));
+                    }
+                }
+            });
+        }, null);
+        executors.diskWrite(AppExecutors.Priority.BULK, write.task);
+        return write;
+    }
+
+    private static void awaitBatch(BatchWrite write) throws IOException {
+        if (write == null) return;
+        try {
+            write.task.get(BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Gagal menulis batch impor", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Batch impor tidak selesai ditulis", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Impor dibatalkan", e);
+        }
+    }
+
+    // Dipanggil saat impor gagal: batch yang belum mulai dibatalkan, yang sedang ditulis ditunggu selesai
+    private static void settle(BatchWrite write) {
+        if (write == null || write.claimed.compareAndSet(false, true)) return;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                write.task.get();
+                break;
+            } catch (ExecutionException e) {
+                // Kegagalan batch ini sudah atau akan dilaporkan lewat exception impor
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.filmhub.data.cache;
+
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+import androidx.room.RoomDatabase;
+
+import com.example.filmhub.utils.IntHashSet;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Indeks di memori berisi movie_id yang sudah difavoritkan dan yang sudah ditonton,
+ * untuk badge di grid Home. Lookup O(1) tanpa alokasi (IntHashSet), jadi aman dipanggil
+ * dari onBindViewHolder.
+ * Dimuat sekali saat dibuat, lalu dimuat ulang per tabel setiap kali Room menandai tabel itu berubah.
+ * Set yang sudah dipublikasikan tidak diubah lagi; pemuatan ulang membangun set baru di background.
+ * Semua metode publik dipanggil dari main thread.
+ */
+public class MembershipIndex {
+
+    private static final String TABLE_FAVORITES = "favorite_movies";
+    private static final String TABLE_WATCHED = "watched_movies";
+
+    private final RoomDatabase database;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private IntHashSet favoriteIds = new IntHashSet();
+    private IntHashSet watchedIds = new IntHashSet();
+    // Hasil pemuatan yang lebih lama dari permintaan terakhir dibuang
+    private int favoriteGeneration = 0;
+    private int watchedGeneration = 0;
+    // Dinaikkan setiap kali salah satu set berganti, agar UI bisa me-rebind badge
+    private final MutableLiveData<Integer> version = new MutableLiveData<>(0);
+
+    public MembershipIndex(RoomDatabase database, Executor executor) {
+        this.database = database;
+        this.executor = executor;
+        database.getInvalidationTracker().addObserver(
+                new InvalidationTracker.Observer(TABLE_FAVORITES, TABLE_WATCHED) {
+                    @Override
+                    public void onInvalidated(@NonNull Set<String> tables) {
+                        // Dipanggil di thread milik Room
+                        boolean favorites = tables.contains(TABLE_FAVORITES);
+                        boolean watched = tables.contains(TABLE_WATCHED);
+                        mainHandler.post(() -> reload(favorites, watched));
+                    }
+                });
+        reload(true, true);
+    }
+
+    public boolean isFavorite(int movieId) {
+        return favoriteIds.contains(movieId);
+    }
+
+    public boolean isWatched(int movieId) {
+        return watchedIds.contains(movieId);
+    }
+
+    public LiveData<Integer> getVersion() {
+        return version;
+    }
+
+    private void reload(boolean favorites, boolean watched) {
+        if (favorites) {
+            final int generation = ++favoriteGeneration;
+            executor.execute(() -> {
+                IntHashSet ids = loadIds(TABLE_FAVORITES);
+                mainHandler.post(() -> {
+                    if (generation != favoriteGeneration) return;
+                    favoriteIds = ids;
+                    version.setValue(version.getValue() + 1);
+                });
+            });
+        }
+        if (watched) {
+            final int generation = ++watchedGeneration;
+            executor.execute(() -> {
+                IntHashSet ids = loadIds(TABLE_WATCHED);
+                mainHandler.post(() -> {
+                    if (generation != watchedGeneration) return;
+                    watchedIds = ids;
+                    version.setValue(version.getValue() + 1);
+                });
+            });
+        }
+    }
+
+    // Dibaca langsung dari Cursor agar id tidak pernah di-box menjadi Integer
+    private IntHashSet loadIds(String table) {
+        try (Cursor cursor = database.query("SELECT movie_id FROM " + table, null)) {
+            IntHashSet ids = new IntHashSet(cursor.getCount());
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(0));
+            }
+            return ids;
+        }
+    }
+}
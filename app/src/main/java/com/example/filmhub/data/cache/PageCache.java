@@ -0,0 +1,149 @@
+package com.example.filmhub.data.cache;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.data.model.MovieResponse;
+import com.example.filmhub.database.dao.CatalogDao;
+import com.example.filmhub.database.entities.CatalogMovie;
+import com.example.filmhub.database.entities.RemoteKey;
+import com.example.filmhub.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache dua tingkat untuk halaman discover/pencarian, dikunci berdasarkan "bentuk" query
+ * (feed = sortBy + genre, atau query pencarian) dan nomor halaman.
+ * - Tier 1: LruCache di memori, sangat cepat, dibatasi jumlah halaman.
+ * - Tier 2: katalog offline di Room (tabel movies + remote_keys), dibatasi jumlah feed.
+ * Setiap entri menyimpan timestamp sehingga pemanggil bisa memutuskan perlu refresh atau tidak.
+ */
+public class PageCache {
+
+    // Batas ukuran per tier
+    private static final int MEMORY_MAX_PAGES = 30;
+    private static final int DISK_MAX_FEEDS = 40;
+
+    // Umur maksimum halaman sebelum dianggap basi dan perlu di-refresh di background
+    private static final long FRESH_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Callback hasil lookup. Selalu dipanggil di main thread.
+     */
+    public interface LookupCallback {
+        void onResult(@Nullable Entry entry);
+    }
+
+    /**
+     * Satu entri cache: respons halaman beserta waktu pengambilannya dari jaringan.
+     */
+    public static class Entry {
+        public final MovieResponse response;
+        public final long cachedAt;
+
+        Entry(MovieResponse response, long cachedAt) {
+            this.response = response;
+            this.cachedAt = cachedAt;
+        }
+
+        public boolean isStale() {
+            return System.currentTimeMillis() - cachedAt > FRESH_TTL_MILLIS;
+        }
+    }
+
+    private final LruCache<String, Entry> memoryCache = new LruCache<>(MEMORY_MAX_PAGES);
+    private final CatalogDao catalogDao;
+    private final AppExecutors executors;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public PageCache(CatalogDao catalogDao, AppExecutors executors) {
+        this.catalogDao = catalogDao;
+        this.executors = executors;
+    }
+
+    public static String discoverFeedKey(String sortBy, String genreIds) {
+        return "discover|" + sortBy + "|" + genreIds;
+    }
+
+    public static String searchFeedKey(String query) {
+        return "search|" + query;
+    }
+
+    public static String pageKey(String feedKey, int page) {
+        return feedKey + "|" + page;
+    }
+
+    /**
+     * Mencari halaman di memori terlebih dahulu (langsung, tanpa pindah thread),
+     * lalu di katalog Room (di background). Hasil dari Room dinaikkan ke tier memori.
+     */
+    public void get(String feedKey, int page, LookupCallback callback) {
+        String key = pageKey(feedKey, page);
+        Entry memoryEntry = memoryCache.get(key);
+        if (memoryEntry != null) {
+            callback.onResult(memoryEntry);
+            return;
+        }
+        executors.diskRead().execute(() -> {
+            Entry diskEntry = readFromDisk(feedKey, page);
+            if (diskEntry != null) {
+                memoryCache.put(key, diskEntry);
+            }
+            mainHandler.post(() -> callback.onResult(diskEntry));
+        });
+    }
+
+    /**
+     * Menyimpan halaman ke kedua tier. Halaman ditulis ke katalog Room dalam satu transaksi
+     * di background, lalu feed yang paling lama tidak dipakai dibuang.
+     */
+    public void put(String feedKey, int page, MovieResponse response) {
+        if (response == null || response.getResults() == null) return;
+        String key = pageKey(feedKey, page);
+        Entry existing = memoryCache.get(key);
+        if (existing != null && existing.response == response) {
+            // Respons yang sama (hasil fan-out request yang digabung), tidak perlu ditulis ulang
+            return;
+        }
+        long now = System.currentTimeMillis();
+        memoryCache.put(key, new Entry(response, now));
+        executors.diskWrite(AppExecutors.Priority.NORMAL, () -> {
+            List<CatalogMovie> rows = new ArrayList<>();
+            List<Movie> results = response.getResults();
+            for (int position = 0; position < results.size(); position++) {
+                Movie movie = results.get(position);
+                rows.add(new CatalogMovie(feedKey, page, position, movie.getId(), movie.getTitle(),
+                        movie.getPosterPath(), movie.getOverview(), movie.getVoteAverage(), now));
+            }
+            catalogDao.replacePage(feedKey, page, rows,
+                    new RemoteKey(feedKey, response.getTotalPages(), now));
+            catalogDao.trimToNewestFeeds(DISK_MAX_FEEDS);
+        });
+    }
+
+    @Nullable
+    private Entry readFromDisk(String feedKey, int page) {
+        List<CatalogMovie> rows = catalogDao.getPage(feedKey, page);
+        RemoteKey remoteKey = catalogDao.getRemoteKey(feedKey);
+        if (rows == null || rows.isEmpty() || remoteKey == null) {
+            return null;
+        }
+        List<Movie> movies = new ArrayList<>(rows.size());
+        long fetchedAt = Long.MAX_VALUE;
+        for (CatalogMovie row : rows) {
+            movies.add(new Movie(row.movieId, row.title, row.posterPath, row.overview, row.voteAverage));
+            fetchedAt = Math.min(fetchedAt, row.fetchedAt);
+        }
+        MovieResponse response = new MovieResponse();
+        response.setPage(page);
+        response.setResults(movies);
+        response.setTotalPages(remoteKey.totalPages);
+        return new Entry(response, fetchedAt);
+    }
+}
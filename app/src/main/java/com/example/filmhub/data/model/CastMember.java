@@ -0,0 +1,33 @@
+package com.example.filmhub.data.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Satu pemeran dari sub-resource "credits" detail film.
+ */
+public class CastMember {
+    @SerializedName("id")
+    private int id;
+    @SerializedName("name")
+    private String name;
+    @SerializedName("character")
+    private String character;
+    @SerializedName("profile_path")
+    private String profilePath;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCharacter() {
+        return character;
+    }
+
+    public String getProfilePath() {
+        return profilePath;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.filmhub.data.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Satu video (trailer, teaser, dsb.) dari sub-resource "videos" detail film.
+ */
+public class MovieVideo {
+    @SerializedName("key")
+    private String key;
+    @SerializedName("name")
+    private String name;
+    @SerializedName("site")
+    private String site;
+    @SerializedName("type")
+    private String type;
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSite() {
+        return site;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isYoutubeTrailer() {
+        return "YouTube".equals(site) && "Trailer".equals(type) && key != null;
+    }
+}
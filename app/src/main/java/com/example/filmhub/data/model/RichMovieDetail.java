@@ -0,0 +1,78 @@
+package com.example.filmhub.data.model;
+
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Detail film beserta sub-resource yang diambil dalam satu request (append_to_response):
+ * pemeran, video, backdrop, dan film serupa.
+ * Dikirim dua tahap: pertama hanya bagian hero (isComplete false, semua daftar kosong) begitu
+ * field dasar selesai di-parse, lalu versi lengkap setelah seluruh respons dibaca.
+ */
+public class RichMovieDetail {
+
+    private final MovieDetailResponse detail;
+    private final List<CastMember> cast;
+    private final List<MovieVideo> videos;
+    private final List<String> backdropPaths;
+    private final List<Movie> similar;
+    private final boolean complete;
+
+    public RichMovieDetail(MovieDetailResponse detail, List<CastMember> cast, List<MovieVideo> videos,
+                           List<String> backdropPaths, List<Movie> similar, boolean complete) {
+        this.detail = detail;
+        this.cast = cast;
+        this.videos = videos;
+        this.backdropPaths = backdropPaths;
+        this.similar = similar;
+        this.complete = complete;
+    }
+
+    /**
+     * Hanya bagian hero. complete true dipakai jika sub-resource gagal dibaca, sehingga
+     * layar tetap menampilkan hero tanpa menunggu daftar yang tidak akan datang.
+     */
+    public static RichMovieDetail heroOnly(MovieDetailResponse detail, boolean complete) {
+        return new RichMovieDetail(detail, Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), complete);
+    }
+
+    public MovieDetailResponse getDetail() {
+        return detail;
+    }
+
+    public List<CastMember> getCast() {
+        return cast;
+    }
+
+    public List<MovieVideo> getVideos() {
+        return videos;
+    }
+
+    public List<String> getBackdropPaths() {
+        return backdropPaths;
+    }
+
+    public List<Movie> getSimilar() {
+        return similar;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Trailer YouTube pertama, null jika tidak ada.
+     */
+    @Nullable
+    public MovieVideo getTrailer() {
+        for (MovieVideo video : videos) {
+            if (video.isYoutubeTrailer()) {
+                return video;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.filmhub.data.paging;
+
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.utils.IntHashSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membuang film duplikat antar halaman feed. Urutan popularitas TMDb bisa bergeser di antara
+ * dua request, sehingga film yang sama sering muncul di halaman N dan N+1.
+ * Kemunculan pertama dipertahankan (urutan tetap), kemunculan berikutnya dibuang.
+ * Id yang dipertahankan tiap halaman diingat, sehingga halaman yang dimuat ulang oleh FeedWindow
+ * difilter dengan hasil yang sama dan posisi item tidak bergeser.
+ * Kelas ini tidak thread-safe dan hanya dipakai dari main thread.
+ */
+public class FeedDeduplicator {
+
+    // Semua id yang sudah tampil di feed sesi ini
+    private final IntHashSet seenIds = new IntHashSet();
+    // keptIds.get(page) = id yang dipertahankan saat halaman itu pertama kali diterima
+    private final Map<Integer, int[]> keptIds = new HashMap<>();
+    private int duplicatesRemoved = 0;
+
+    public void clear() {
+        seenIds.clear();
+        keptIds.clear();
+        duplicatesRemoved = 0;
+    }
+
+    /**
+     * Mengembalikan isi halaman tanpa film yang sudah tampil di halaman lain.
+     * List yang dikembalikan adalah list baru; list input tidak diubah.
+     */
+    public List<Movie> accept(int page, List<Movie> movies) {
+        int[] previouslyKept = keptIds.get(page);
+        boolean firstTime = previouslyKept == null;
+        List<Movie> kept = new ArrayList<>(movies.size());
+        IntHashSet pageIds = new IntHashSet(movies.size());
+        for (Movie movie : movies) {
+            int id = movie.getId();
+            // Duplikat di dalam halaman yang sama juga dibuang
+            if (!pageIds.add(id)) {
+                if (firstTime) duplicatesRemoved++;
+                continue;
+            }
+            // Halaman dimuat ulang: id milik halaman ini tetap, id baru hanya jika belum tampil di mana pun
+            if ((!firstTime && contains(previouslyKept, id)) || seenIds.add(id)) {
+                kept.add(movie);
+            } else if (firstTime) {
+                duplicatesRemoved++;
+            }
+        }
+
+        int[] ids = new int[kept.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = kept.get(i).getId();
+        }
+        keptIds.put(page, ids);
+        return kept;
+    }
+
+    /**
+     * Jumlah film duplikat yang dibuang sejak clear() terakhir (satu sesi query).
+     */
+    public int getDuplicatesRemoved() {
+        return duplicatesRemoved;
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int value : ids) {
+            if (value == id) return true;
+        }
+        return false;
+    }
+}
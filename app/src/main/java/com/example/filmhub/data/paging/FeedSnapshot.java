@@ -0,0 +1,59 @@
+package com.example.filmhub.data.paging;
+
+import androidx.annotation.Nullable;
+
+import com.example.filmhub.data.model.Movie;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Tampilan read-only atas isi FeedWindow pada satu titik waktu.
+ * Posisi milik halaman yang sudah dibuang dari memori berisi null (placeholder),
+ * sehingga jumlah item dan posisi scroll tetap stabil saat halaman dibuang atau dimuat ulang.
+ * Pembuatan snapshot hanya menyalin referensi per halaman, bukan per film.
+ */
+public class FeedSnapshot extends AbstractList<Movie> implements RandomAccess {
+
+    private final List<Movie>[] pages;
+    // pageOffsets[i] = posisi item pertama milik halaman ke-(i + 1)
+    private final int[] pageOffsets;
+    private final int size;
+
+    FeedSnapshot(List<Movie>[] pages, int[] pageSizes) {
+        this.pages = pages;
+        this.pageOffsets = new int[pageSizes.length];
+        int offset = 0;
+        for (int i = 0; i < pageSizes.length; i++) {
+            pageOffsets[i] = offset;
+            offset += pageSizes[i];
+        }
+        this.size = offset;
+    }
+
+    @Nullable
+    @Override
+    public Movie get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int pageIndex = Arrays.binarySearch(pageOffsets, index);
+        if (pageIndex < 0) {
+            pageIndex = -pageIndex - 2;
+        } else {
+            // Lewati halaman kosong yang memiliki offset sama
+            while (pageIndex + 1 < pageOffsets.length && pageOffsets[pageIndex + 1] == index) {
+                pageIndex++;
+            }
+        }
+        List<Movie> page = pages[pageIndex];
+        return page != null ? page.get(index - pageOffsets[pageIndex]) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
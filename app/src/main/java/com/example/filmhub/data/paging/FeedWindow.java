@@ -0,0 +1,154 @@
+package com.example.filmhub.data.paging;
+
+import android.util.SparseArray;
+
+import com.example.filmhub.data.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Model feed berbasis jendela halaman untuk daftar film di Home.
+ * Hanya sejumlah halaman di sekitar viewport yang disimpan di memori. Halaman yang keluar
+ * dari jendela dibuang (isinya diganti placeholder), lalu dimuat ulang dari cache saat
+ * pengguna scroll kembali. Ukuran tiap halaman tetap diingat agar posisi item tidak bergeser.
+ * Kelas ini tidak thread-safe dan hanya dipakai dari main thread.
+ */
+public class FeedWindow {
+
+    private final int maxPagesInMemory;
+    private final SparseArray<List<Movie>> loadedPages = new SparseArray<>();
+
+    // pageSizes[page - 1] = jumlah item halaman tersebut saat terakhir dimuat
+    private int[] pageSizes = new int[8];
+    private int knownPageCount = 0;
+    private int centerPage = 1;
+
+    public FeedWindow(int maxPagesInMemory) {
+        if (maxPagesInMemory < 1) {
+            throw new IllegalArgumentException("maxPagesInMemory harus >= 1");
+        }
+        this.maxPagesInMemory = maxPagesInMemory;
+    }
+
+    public void clear() {
+        loadedPages.clear();
+        Arrays.fill(pageSizes, 0);
+        knownPageCount = 0;
+        centerPage = 1;
+    }
+
+    public boolean isEmpty() {
+        return knownPageCount == 0;
+    }
+
+    /**
+     * Menyimpan isi satu halaman (halaman baru di ujung feed, atau halaman yang dimuat ulang),
+     * lalu membuang halaman yang berada di luar jendela.
+     */
+    public void putPage(int page, List<Movie> movies) {
+        if (page > pageSizes.length) {
+            pageSizes = Arrays.copyOf(pageSizes, Math.max(page, pageSizes.length * 2));
+        }
+        pageSizes[page - 1] = movies.size();
+        knownPageCount = Math.max(knownPageCount, page);
+        loadedPages.put(page, movies);
+        trim();
+    }
+
+    /**
+     * Menggeser pusat jendela ke halaman yang sedang terlihat di viewport.
+     * @return true jika ada halaman yang dibuang karena keluar dari jendela.
+     */
+    public boolean moveTo(int page) {
+        centerPage = Math.max(1, Math.min(page, knownPageCount));
+        return trim();
+    }
+
+    public boolean isInWindow(int page) {
+        return page >= windowStart() && page <= windowEnd();
+    }
+
+    /**
+     * Halaman di dalam jendela yang ukurannya sudah diketahui tapi isinya sudah dibuang,
+     * sehingga perlu dimuat ulang dari cache.
+     */
+    public List<Integer> getMissingPagesInWindow() {
+        List<Integer> missing = new ArrayList<>();
+        for (int page = windowStart(); page <= windowEnd(); page++) {
+            if (loadedPages.get(page) == null) {
+                missing.add(page);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Mencari halaman pemilik posisi item tertentu di adapter.
+     */
+    public int pageForPosition(int position) {
+        int offset = 0;
+        for (int page = 1; page <= knownPageCount; page++) {
+            offset += pageSizes[page - 1];
+            if (position < offset) {
+                return page;
+            }
+        }
+        return Math.max(1, knownPageCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    public FeedSnapshot snapshot() {
+        List<Movie>[] pages = new List[knownPageCount];
+        for (int page = 1; page <= knownPageCount; page++) {
+            pages[page - 1] = loadedPages.get(page);
+        }
+        return new FeedSnapshot(pages, Arrays.copyOf(pageSizes, knownPageCount));
+    }
+
+    /**
+     * Perkiraan kasar memori yang dipakai objek Movie di jendela saat ini (dalam byte).
+     */
+    public long estimateLoadedBytes() {
+        long bytes = 0;
+        for (int i = 0; i < loadedPages.size(); i++) {
+            for (Movie movie : loadedPages.valueAt(i)) {
+                bytes += estimateMovieBytes(movie);
+            }
+        }
+        return bytes;
+    }
+
+    private int windowStart() {
+        int start = centerPage - (maxPagesInMemory - 1) / 2;
+        start = Math.min(start, knownPageCount - maxPagesInMemory + 1);
+        return Math.max(1, start);
+    }
+
+    private int windowEnd() {
+        return Math.min(knownPageCount, windowStart() + maxPagesInMemory - 1);
+    }
+
+    private boolean trim() {
+        boolean evicted = false;
+        for (int i = loadedPages.size() - 1; i >= 0; i--) {
+            if (!isInWindow(loadedPages.keyAt(i))) {
+                loadedPages.removeAt(i);
+                evicted = true;
+            }
+        }
+        return evicted;
+    }
+
+    private static long estimateMovieBytes(Movie movie) {
+        // Header objek + field primitif, ditambah isi String (2 byte per karakter + header)
+        return 48 + estimateStringBytes(movie.getTitle())
+                + estimateStringBytes(movie.getPosterPath())
+                + estimateStringBytes(movie.getOverview());
+    }
+
+    private static long estimateStringBytes(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.filmhub.data.paging;
+
+import androidx.annotation.Nullable;
+
+import com.example.filmhub.data.model.Movie;
+
+import java.util.List;
+
+/**
+ * Satu rail horizontal di Home (misal "Rating Tertinggi" atau pilihan per genre) beserta isinya.
+ * Immutable: setiap perubahan state menghasilkan objek baru, sehingga aman dikirim lewat LiveData
+ * dan dibandingkan per referensi oleh DiffUtil.
+ */
+public final class HomeRail {
+
+    private final long id;
+    private final String key;
+    private final String title;
+    private final String sortBy;
+    private final String genreIds;
+    // null selama rail masih dimuat
+    @Nullable
+    private final List<Movie> movies;
+    private final boolean failed;
+
+    private HomeRail(long id, String key, String title, String sortBy, String genreIds,
+                     @Nullable List<Movie> movies, boolean failed) {
+        this.id = id;
+        this.key = key;
+        this.title = title;
+        this.sortBy = sortBy;
+        this.genreIds = genreIds;
+        this.movies = movies;
+        this.failed = failed;
+    }
+
+    /**
+     * Rail baru yang belum dimuat. Key dipakai sebagai identitas rail, jadi rail dengan
+     * sortBy dan genreIds yang sama dianggap rail yang sama.
+     * @param id Id stabil untuk RecyclerView, unik per rail (lihat HomeViewModel).
+     */
+    public static HomeRail of(long id, String title, String sortBy, String genreIds) {
+        return new HomeRail(id, sortBy + "|" + genreIds, title, sortBy, genreIds, null, false);
+    }
+
+    HomeRail withMovies(List<Movie> loaded) {
+        return new HomeRail(id, key, title, sortBy, genreIds, loaded, false);
+    }
+
+    HomeRail asFailed() {
+        return new HomeRail(id, key, title, sortBy, genreIds, null, true);
+    }
+
+    HomeRail asLoading() {
+        return new HomeRail(id, key, title, sortBy, genreIds, null, false);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public String getGenreIds() {
+        return genreIds;
+    }
+
+    @Nullable
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+}
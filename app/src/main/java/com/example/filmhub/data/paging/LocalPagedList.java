@@ -0,0 +1,225 @@
+package com.example.filmhub.data.paging;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+import androidx.room.RoomDatabase;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Daftar bertahap (paged) untuk tabel Room lokal, misalnya jurnal tontonan dan favorit.
+ * Baris dibaca per chunk (LIMIT/OFFSET) hanya di sekitar viewport; posisi di luarnya berisi null
+ * (placeholder) sehingga jumlah item dan posisi scroll tetap stabil.
+ * Saat tabel berubah, seluruh chunk di jendela dibaca ulang (beserta jumlah baris) lalu menggantikan
+ * chunk lama sekaligus, karena insert/delete menggeser OFFSET semua chunk sesudahnya.
+ */
+public class LocalPagedList<T> extends LiveData<List<T>> {
+
+    /**
+     * Query jumlah baris. Dipanggil di background thread.
+     */
+    public interface CountQuery {
+        int count();
+    }
+
+    /**
+     * Query satu chunk baris. Dipanggil di background thread.
+     */
+    public interface ChunkQuery<T> {
+        List<T> load(int limit, int offset);
+    }
+
+    private final RoomDatabase database;
+    private final Executor executor;
+    private final CountQuery countQuery;
+    private final ChunkQuery<T> chunkQuery;
+    private final int chunkSize;
+    private final int chunksAroundViewport;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final InvalidationTracker.Observer invalidationObserver;
+
+    // State di bawah ini hanya diakses dari main thread
+    private final SparseArray<List<T>> chunks = new SparseArray<>();
+    private final SparseBooleanArray loadingChunks = new SparseBooleanArray();
+    private int totalCount = -1;
+    private int centerChunk = 0;
+    // Dinaikkan setiap kali tabel berubah; chunk hasil versi lama dibuang
+    private int version = 0;
+    private boolean dirty = true;
+
+    /**
+     * @param tables               Tabel yang dibaca query, untuk mendeteksi perubahan.
+     * @param chunkSize            Jumlah baris per chunk.
+     * @param chunksAroundViewport Jumlah chunk yang dipertahankan di atas dan di bawah chunk viewport.
+     */
+    public LocalPagedList(RoomDatabase database, Executor executor, String[] tables,
+                          CountQuery countQuery, ChunkQuery<T> chunkQuery,
+                          int chunkSize, int chunksAroundViewport) {
+        this.database = database;
+        this.executor = executor;
+        this.countQuery = countQuery;
+        this.chunkQuery = chunkQuery;
+        this.chunkSize = chunkSize;
+        this.chunksAroundViewport = chunksAroundViewport;
+        this.invalidationObserver = new InvalidationTracker.Observer(tables) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> changedTables) {
+                // Dipanggil di thread milik Room
+                mainHandler.post(LocalPagedList.this::refresh);
+            }
+        };
+    }
+
+    @Override
+    protected void onActive() {
+        database.getInvalidationTracker().addObserver(invalidationObserver);
+        if (dirty) {
+            refresh();
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        database.getInvalidationTracker().removeObserver(invalidationObserver);
+        // Perubahan selama tidak aktif tidak terlihat, jadi baca ulang saat aktif kembali
+        dirty = true;
+    }
+
+    /**
+     * Dipanggil saat RecyclerView di-scroll. Chunk yang jauh dari viewport dibuang dari memori,
+     * chunk di sekitarnya yang belum ada dibaca dari database.
+     */
+    public void onViewportChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        if (firstVisiblePosition < 0 || totalCount < 0) return;
+        centerChunk = ((firstVisiblePosition + lastVisiblePosition) / 2) / chunkSize;
+
+        boolean evicted = false;
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+            if (!isInWindow(chunks.keyAt(i))) {
+                chunks.removeAt(i);
+                evicted = true;
+            }
+        }
+        if (evicted) {
+            publish();
+        }
+        for (int chunk : missingChunksInWindow()) {
+            loadChunk(chunk);
+        }
+    }
+
+    // Membaca ulang jumlah baris dan semua chunk di jendela (paling banyak 2 * chunksAroundViewport + 1).
+    // Chunk lama tetap tampil sampai hasil baru siap, lalu diganti sekaligus: chunk versi lama tidak
+    // boleh tercampur dengan yang baru karena OFFSET-nya sudah bergeser.
+    // Sengaja tanpa transaksi agar thread reader tidak mengambil kunci tulis: jika tabel berubah
+    // di tengah pembacaan, invalidasi berikutnya menaikkan versi dan hasil ini dibuang lalu dibaca ulang.
+    private void refresh() {
+        dirty = false;
+        final int requestVersion = ++version;
+        final int firstChunk = Math.max(0, centerChunk - chunksAroundViewport);
+        final int lastChunk = centerChunk + chunksAroundViewport;
+        loadingChunks.clear();
+        executor.execute(() -> {
+            SparseArray<List<T>> loaded = new SparseArray<>();
+            int count = countQuery.count();
+            for (int chunk = firstChunk; chunk <= lastChunk && chunk * chunkSize < count; chunk++) {
+                loaded.put(chunk, chunkQuery.load(chunkSize, chunk * chunkSize));
+            }
+            mainHandler.post(() -> {
+                if (requestVersion != version) return;
+                totalCount = count;
+                chunks.clear();
+                for (int i = 0; i < loaded.size(); i++) {
+                    if (isInWindow(loaded.keyAt(i))) {
+                        chunks.put(loaded.keyAt(i), loaded.valueAt(i));
+                    }
+                }
+                publish();
+                // Viewport bisa saja bergeser selama refresh berjalan
+                for (int chunk : missingChunksInWindow()) {
+                    loadChunk(chunk);
+                }
+            });
+        });
+    }
+
+    private void loadChunk(int chunk) {
+        if (loadingChunks.get(chunk)) return;
+        loadingChunks.put(chunk, true);
+        final int requestVersion = version;
+        executor.execute(() -> {
+            List<T> rows = chunkQuery.load(chunkSize, chunk * chunkSize);
+            mainHandler.post(() -> {
+                // Jika tabel sudah berubah, refresh yang sedang berjalan akan memuat chunk ini lagi
+                if (requestVersion != version) return;
+                loadingChunks.delete(chunk);
+                if (!isInWindow(chunk)) return;
+                chunks.put(chunk, rows);
+                publish();
+            });
+        });
+    }
+
+    private boolean isInWindow(int chunk) {
+        return Math.abs(chunk - centerChunk) <= chunksAroundViewport;
+    }
+
+    private List<Integer> missingChunksInWindow() {
+        List<Integer> missing = new ArrayList<>();
+        int firstChunk = Math.max(0, centerChunk - chunksAroundViewport);
+        int lastChunk = centerChunk + chunksAroundViewport;
+        for (int chunk = firstChunk; chunk <= lastChunk && chunk * chunkSize < totalCount; chunk++) {
+            if (chunks.get(chunk) == null) {
+                missing.add(chunk);
+            }
+        }
+        return missing;
+    }
+
+    private void publish() {
+        setValue(new Snapshot<>(totalCount, chunkSize, chunks.clone()));
+    }
+
+    /**
+     * Tampilan read-only atas chunk yang sedang dimuat. Posisi di luar chunk tersebut berisi null.
+     */
+    private static class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final int size;
+        private final int chunkSize;
+        private final SparseArray<List<T>> chunks;
+
+        Snapshot(int size, int chunkSize, SparseArray<List<T>> chunks) {
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunks = chunks;
+        }
+
+        @Nullable
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            List<T> chunk = chunks.get(index / chunkSize);
+            int offset = index % chunkSize;
+            return chunk != null && offset < chunk.size() ? chunk.get(offset) : null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
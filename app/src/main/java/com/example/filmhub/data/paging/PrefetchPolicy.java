@@ -0,0 +1,75 @@
+package com.example.filmhub.data.paging;
+
+/**
+ * Aturan kapan halaman berikutnya perlu diambil lebih awal (prefetch).
+ * Prefetch dipicu saat sisa item di bawah viewport sudah kurang dari jarak prefetch.
+ * Jika lookahead berbasis kecepatan aktif, jarak tersebut diperpanjang sebanyak item yang
+ * diperkirakan akan dilewati pengguna dalam waktu lookahead, sehingga scroll cepat
+ * memicu prefetch lebih awal.
+ */
+public class PrefetchPolicy {
+
+    private final int prefetchDistanceItems;
+    private final long velocityLookaheadMillis;
+
+    // Status untuk menghitung kecepatan scroll (item per detik, hanya arah ke bawah)
+    private int lastPosition = -1;
+    private long lastTimestampMillis = 0;
+    private float velocityItemsPerSecond = 0f;
+
+    /**
+     * @param prefetchDistanceItems   Jarak prefetch minimum dalam jumlah item.
+     * @param velocityLookaheadMillis Waktu lookahead berbasis kecepatan, 0 untuk menonaktifkan.
+     */
+    public PrefetchPolicy(int prefetchDistanceItems, long velocityLookaheadMillis) {
+        this.prefetchDistanceItems = prefetchDistanceItems;
+        this.velocityLookaheadMillis = velocityLookaheadMillis;
+    }
+
+    /**
+     * Membuat policy dengan jarak prefetch dalam satuan halaman.
+     */
+    public static PrefetchPolicy ofPages(int pages, int pageSize, long velocityLookaheadMillis) {
+        return new PrefetchPolicy(pages * pageSize, velocityLookaheadMillis);
+    }
+
+    /**
+     * Dipanggil setiap kali viewport berubah.
+     *
+     * @param lastVisiblePosition Posisi item terakhir yang terlihat.
+     * @param totalItemCount      Jumlah item di feed saat ini.
+     * @param nowMillis           Waktu saat ini (misal SystemClock.uptimeMillis()).
+     * @return true jika halaman berikutnya sebaiknya mulai dimuat sekarang.
+     */
+    public boolean shouldPrefetch(int lastVisiblePosition, int totalItemCount, long nowMillis) {
+        updateVelocity(lastVisiblePosition, nowMillis);
+        if (lastVisiblePosition < 0 || totalItemCount == 0) return false;
+        int itemsRemaining = totalItemCount - 1 - lastVisiblePosition;
+        return itemsRemaining <= getEffectiveDistanceItems();
+    }
+
+    /**
+     * Jarak prefetch efektif: jarak minimum ditambah item yang akan dilewati dalam waktu lookahead.
+     */
+    public int getEffectiveDistanceItems() {
+        int lookaheadItems = (int) (velocityItemsPerSecond * velocityLookaheadMillis / 1000f);
+        return prefetchDistanceItems + lookaheadItems;
+    }
+
+    public void reset() {
+        lastPosition = -1;
+        lastTimestampMillis = 0;
+        velocityItemsPerSecond = 0f;
+    }
+
+    private void updateVelocity(int position, long nowMillis) {
+        if (velocityLookaheadMillis <= 0) return;
+        if (lastPosition >= 0 && nowMillis > lastTimestampMillis) {
+            float instant = (position - lastPosition) * 1000f / (nowMillis - lastTimestampMillis);
+            // Hanya scroll ke bawah yang relevan; dihaluskan agar tidak melonjak karena satu frame
+            velocityItemsPerSecond = 0.7f * velocityItemsPerSecond + 0.3f * Math.max(0f, instant);
+        }
+        lastPosition = position;
+        lastTimestampMillis = nowMillis;
+    }
+}
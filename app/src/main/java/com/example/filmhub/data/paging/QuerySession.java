@@ -0,0 +1,103 @@
+package com.example.filmhub.data.paging;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.filmhub.data.model.MovieResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Satu sesi query feed Home: kombinasi pencarian / sortir / genre yang sedang aktif.
+ * Setiap kali query berganti, sesi baru dibuat dengan nomor generasi yang lebih besar.
+ * Respons yang datang untuk sesi lama dibuang, dan request sesi lama yang masih berjalan
+ * bisa dibatalkan sekaligus lewat {@link #close(Canceller)}.
+ */
+public class QuerySession {
+
+    /**
+     * Dipanggil untuk setiap halaman yang masih dimuat saat sesi ditutup.
+     */
+    public interface Canceller {
+        void cancel(LiveData<MovieResponse> pendingPage);
+    }
+
+    private final int generation;
+    private final String query;
+    private final String sortBy;
+    private final String genreIds;
+
+    // Halaman yang masih menunggu hasil. Hanya diakses dari main thread.
+    private final List<LiveData<MovieResponse>> pendingPages = new ArrayList<>();
+
+    public QuerySession(int generation, String query, String sortBy, String genreIds) {
+        this.generation = generation;
+        this.query = query;
+        this.sortBy = sortBy;
+        this.genreIds = genreIds;
+    }
+
+    /**
+     * Membuat sesi berikutnya dengan parameter baru.
+     */
+    public QuerySession next(String query, String sortBy, String genreIds) {
+        return new QuerySession(generation + 1, query, sortBy, genreIds);
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public String getGenreIds() {
+        return genreIds;
+    }
+
+    public boolean isSearch() {
+        return !query.isEmpty();
+    }
+
+    /**
+     * Apakah sesi ini meminta feed yang sama persis dengan parameter yang diberikan.
+     */
+    public boolean matches(String query, String sortBy, String genreIds) {
+        return this.query.equals(query) && Objects.equals(this.sortBy, sortBy)
+                && Objects.equals(this.genreIds, genreIds);
+    }
+
+    /**
+     * Mencatat halaman yang sedang dimuat agar bisa dibatalkan saat sesi ditutup.
+     */
+    public void track(LiveData<MovieResponse> pendingPage) {
+        pendingPages.add(pendingPage);
+    }
+
+    /**
+     * Dipanggil saat hasil halaman sudah diterima.
+     */
+    public void untrack(LiveData<MovieResponse> pendingPage) {
+        pendingPages.remove(pendingPage);
+    }
+
+    /**
+     * Menutup sesi: semua halaman yang masih dimuat dibatalkan.
+     *
+     * @return Jumlah halaman yang dibatalkan.
+     */
+    public int close(Canceller canceller) {
+        int canceled = pendingPages.size();
+        for (LiveData<MovieResponse> pendingPage : pendingPages) {
+            canceller.cancel(pendingPage);
+        }
+        pendingPages.clear();
+        return canceled;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.filmhub.data.paging;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.example.filmhub.data.model.MovieResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memuat beberapa rail Home secara bersamaan (fan-out) dan menggabungkannya menjadi satu daftar
+ * (fan-in). Setiap rail dipublikasikan begitu datanya sendiri tiba, tanpa menunggu rail lain.
+ * Rail yang masih dimuat, gagal, atau kosong tidak ikut dipublikasikan, agar placeholder rail tidak
+ * mendorong isi grid ke bawah layar sebelum ada yang bisa ditampilkan.
+ * Jumlah request rail yang berjalan bersamaan dibatasi; sisanya mengantre sesuai urutan rail,
+ * sehingga rail tidak berebut koneksi dengan grid utama.
+ * Kelas ini tidak thread-safe dan hanya dipakai dari main thread.
+ */
+public class RailLoader {
+
+    private static final String TAG = "RailLoader";
+
+    /**
+     * Sumber halaman pertama sebuah rail, biasanya MovieRepository.getDiscoverMovies.
+     */
+    public interface PageSource {
+        LiveData<MovieResponse> load(String sortBy, String genreIds);
+    }
+
+    private final PageSource pageSource;
+    private final QuerySession.Canceller canceller;
+    private final int maxConcurrentLoads;
+    private final MediatorLiveData<List<HomeRail>> rails = new MediatorLiveData<>();
+
+    // Urutan rail yang ditampilkan, dan state terbaru per key
+    private final List<String> order = new ArrayList<>();
+    private final Map<String, HomeRail> railsByKey = new HashMap<>();
+    private final ArrayDeque<String> waiting = new ArrayDeque<>();
+    private final Map<String, LiveData<MovieResponse>> inFlight = new HashMap<>();
+    private boolean started = false;
+    private boolean hidden = false;
+
+    public RailLoader(PageSource pageSource, QuerySession.Canceller canceller, int maxConcurrentLoads) {
+        this.pageSource = pageSource;
+        this.canceller = canceller;
+        this.maxConcurrentLoads = maxConcurrentLoads;
+    }
+
+    public LiveData<List<HomeRail>> getRails() {
+        return rails;
+    }
+
+    /**
+     * Mengganti daftar rail. Rail yang key-nya sudah ada mempertahankan isinya (tidak dimuat ulang),
+     * rail baru masuk antrean, dan rail yang tidak ada lagi dibatalkan.
+     */
+    public void submit(List<HomeRail> newRails) {
+        Map<String, HomeRail> previous = new HashMap<>(railsByKey);
+        order.clear();
+        railsByKey.clear();
+        for (HomeRail rail : newRails) {
+            if (railsByKey.containsKey(rail.getKey())) continue;
+            HomeRail existing = previous.remove(rail.getKey());
+            order.add(rail.getKey());
+            railsByKey.put(rail.getKey(), existing != null ? existing : rail);
+            if (existing == null) {
+                waiting.add(rail.getKey());
+            }
+        }
+        for (String removedKey : previous.keySet()) {
+            waiting.remove(removedKey);
+            LiveData<MovieResponse> source = inFlight.remove(removedKey);
+            if (source != null) {
+                rails.removeSource(source);
+                canceller.cancel(source);
+            }
+        }
+        publish();
+        pump();
+    }
+
+    /**
+     * Mulai mengirim request rail. Sebelum ini rail hanya mengantre, misalnya agar halaman pertama
+     * grid utama tidak berbagi bandwidth dengan rail.
+     */
+    public void start() {
+        if (started) return;
+        started = true;
+        pump();
+    }
+
+    /**
+     * Menyembunyikan rail (misal selama pencarian) tanpa membuang isinya.
+     */
+    public void setHidden(boolean hidden) {
+        if (this.hidden == hidden) return;
+        this.hidden = hidden;
+        publish();
+    }
+
+    /**
+     * Memuat ulang rail yang gagal, misal setelah koneksi kembali.
+     */
+    public void retryFailed() {
+        for (String key : order) {
+            HomeRail rail = railsByKey.get(key);
+            if (rail.isFailed()) {
+                railsByKey.put(key, rail.asLoading());
+                waiting.add(key);
+            }
+        }
+        publish();
+        pump();
+    }
+
+    public void cancelAll() {
+        waiting.clear();
+        for (LiveData<MovieResponse> source : inFlight.values()) {
+            rails.removeSource(source);
+            canceller.cancel(source);
+        }
+        inFlight.clear();
+    }
+
+    private void pump() {
+        while (started && inFlight.size() < maxConcurrentLoads && !waiting.isEmpty()) {
+            load(waiting.poll());
+        }
+    }
+
+    private void load(String key) {
+        HomeRail rail = railsByKey.get(key);
+        LiveData<MovieResponse> source = pageSource.load(rail.getSortBy(), rail.getGenreIds());
+        inFlight.put(key, source);
+        rails.addSource(source, response -> {
+            rails.removeSource(source);
+            if (inFlight.get(key) != source) return; // Rail sudah diganti atau dibatalkan
+            inFlight.remove(key);
+            HomeRail current = railsByKey.get(key);
+            if (response != null && response.getResults() != null) {
+                railsByKey.put(key, current.withMovies(Collections.unmodifiableList(response.getResults())));
+            } else {
+                Log.w(TAG, "Rail gagal dimuat: " + key);
+                railsByKey.put(key, current.asFailed());
+            }
+            publish();
+            pump();
+        });
+    }
+
+    private void publish() {
+        if (hidden) {
+            rails.setValue(Collections.emptyList());
+            return;
+        }
+        List<HomeRail> snapshot = new ArrayList<>(order.size());
+        for (String key : order) {
+            HomeRail rail = railsByKey.get(key);
+            if (rail.getMovies() != null && !rail.getMovies().isEmpty()) {
+                snapshot.add(rail);
+            }
+        }
+        rails.setValue(snapshot);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.filmhub.data.repository;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.filmhub.data.cache.PageCache;
+import com.example.filmhub.data.model.MovieResponse;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+
+/**
+ * Mediator offline-first untuk feed film di halaman Home.
+ * Feed selalu dibaca dari katalog lokal (PageCache: memori + Room) terlebih dahulu,
+ * sementara mediator mengambil halaman dari API dan menambahkannya ke katalog halaman demi halaman.
+ * Dengan begitu halaman yang pernah dilihat tetap bisa di-scroll tanpa jaringan.
+ */
+public class CatalogMediator {
+
+    private final PageCache pageCache;
+    private final RequestCoalescer requestCoalescer;
+
+    // Halaman yang masih menunggu hasil, dikunci berdasarkan LiveData yang dikembalikan ke pemanggil.
+    // Hanya diakses dari main thread.
+    private final Map<LiveData<MovieResponse>, PendingLoad> pendingLoads = new IdentityHashMap<>();
+
+    public CatalogMediator(PageCache pageCache, RequestCoalescer requestCoalescer) {
+        this.pageCache = pageCache;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Memuat satu halaman feed.
+     * - Ada di katalog dan masih segar: langsung dikembalikan, tanpa jaringan.
+     * - Ada di katalog tapi basi: langsung dikembalikan, lalu di-refresh di background.
+     * - Belum ada di katalog: diambil dari jaringan, disimpan, lalu dikembalikan.
+     *   Jika jaringan gagal, LiveData berisi null.
+     */
+    public LiveData<MovieResponse> loadPage(String feedKey, int page, Supplier<Call<MovieResponse>> callFactory) {
+        MediatorLiveData<MovieResponse> result = new MediatorLiveData<>();
+        PendingLoad pending = new PendingLoad(result);
+        pendingLoads.put(result, pending);
+        pageCache.get(feedKey, page, entry -> {
+            if (pending.canceled) return;
+            if (entry != null) {
+                pendingLoads.remove(result);
+                result.setValue(entry.response);
+                if (entry.isStale()) {
+                    refreshInBackground(feedKey, page, callFactory);
+                }
+                return;
+            }
+            LiveData<MovieResponse> network = requestCoalescer.enqueue(PageCache.pageKey(feedKey, page), callFactory);
+            pending.network = network;
+            result.addSource(network, response -> {
+                result.removeSource(network);
+                pendingLoads.remove(result);
+                pageCache.put(feedKey, page, response);
+                result.setValue(response);
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Membatalkan halaman yang masih dimuat, misalnya karena query sudah diganti.
+     * LiveData tersebut tidak akan pernah menerima nilai. Jika halaman sedang diambil dari jaringan
+     * dan tidak ada pemanggil lain yang menunggunya, Call-nya ikut dibatalkan.
+     * Refresh background untuk halaman basi tidak ikut dibatalkan karena hasilnya tetap berguna bagi cache.
+     */
+    public void cancel(LiveData<MovieResponse> page) {
+        PendingLoad pending = pendingLoads.remove(page);
+        if (pending == null) return;
+        pending.canceled = true;
+        if (pending.network != null) {
+            pending.result.removeSource(pending.network);
+            requestCoalescer.cancel(pending.network);
+        }
+    }
+
+    private void refreshInBackground(String feedKey, int page, Supplier<Call<MovieResponse>> callFactory) {
+        LiveData<MovieResponse> network = requestCoalescer.enqueue(PageCache.pageKey(feedKey, page), callFactory);
+        network.observeForever(new Observer<MovieResponse>() {
+            @Override
+            public void onChanged(MovieResponse response) {
+                network.removeObserver(this);
+                pageCache.put(feedKey, page, response);
+            }
+        });
+    }
+
+    private static class PendingLoad {
+        final MediatorLiveData<MovieResponse> result;
+        LiveData<MovieResponse> network;
+        boolean canceled;
+
+        PendingLoad(MediatorLiveData<MovieResponse> result) {
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.filmhub.data.repository;
+
+import com.example.filmhub.data.model.CastMember;
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.data.model.MovieDetailResponse;
+import com.example.filmhub.data.model.MovieVideo;
+import com.example.filmhub.data.model.RichMovieDetail;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decoder streaming untuk respons movie/{id}?append_to_response=credits,videos,images,similar.
+ * TMDb menaruh field dasar film sebelum sub-resource, jadi begitu key sub-resource pertama terbaca
+ * bagian hero sudah lengkap dan langsung dikirim ke listener, sebelum daftar yang berat di-parse.
+ * Setiap daftar hanya diambil sampai batasnya; sisanya (dan seluruh "crew") dilewati tanpa dibuat
+ * objeknya. Metode di sini blocking, jadi harus dipanggil dari background thread.
+ */
+public class MovieDetailStreamParser {
+
+    /**
+     * Sub-resource yang diminta lewat append_to_response, sesuai key yang dikenali parser ini.
+     */
+    public static final String APPEND_TO_RESPONSE = "credits,videos,images,similar";
+
+    private static final int MAX_CAST = 15;
+    private static final int MAX_VIDEOS = 10;
+    private static final int MAX_BACKDROPS = 10;
+    private static final int MAX_SIMILAR = 20;
+
+    /**
+     * Dipanggil di thread parser begitu field dasar film selesai dibaca.
+     */
+    public interface HeroListener {
+        void onHero(MovieDetailResponse hero);
+    }
+
+    // Satu entri "backdrops"; hanya path-nya yang dipakai
+    private static class ImageFile {
+        @SerializedName("file_path")
+        String filePath;
+    }
+
+    private final Gson gson = new Gson();
+
+    public RichMovieDetail parse(Reader source, HeroListener heroListener) throws IOException {
+        JsonObject base = new JsonObject();
+        MovieDetailResponse hero = null;
+        boolean baseChangedAfterHero = false;
+        List<CastMember> cast = Collections.emptyList();
+        List<MovieVideo> videos = Collections.emptyList();
+        List<String> backdropPaths = Collections.emptyList();
+        List<Movie> similar = Collections.emptyList();
+
+        JsonReader reader = new JsonReader(source);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (hero == null && isSubResource(name)) {
+                hero = gson.fromJson(base, MovieDetailResponse.class);
+                heroListener.onHero(hero);
+            }
+            switch (name) {
+                case "credits":
+                    cast = readArrayField(reader, "cast", CastMember.class, MAX_CAST);
+                    break;
+                case "videos":
+                    videos = readArrayField(reader, "results", MovieVideo.class, MAX_VIDEOS);
+                    break;
+                case "images":
+                    List<ImageFile> backdrops = readArrayField(reader, "backdrops", ImageFile.class, MAX_BACKDROPS);
+                    backdropPaths = new ArrayList<>(backdrops.size());
+                    for (ImageFile backdrop : backdrops) {
+                        if (backdrop.filePath != null) {
+                            backdropPaths.add(backdrop.filePath);
+                        }
+                    }
+                    break;
+                case "similar":
+                    similar = readArrayField(reader, "results", Movie.class, MAX_SIMILAR);
+                    break;
+                default:
+                    base.add(name, gson.fromJson(reader, JsonElement.class));
+                    baseChangedAfterHero |= hero != null;
+            }
+        }
+        reader.endObject();
+
+        // Field dasar yang datang setelah sub-resource (jarang) tetap ikut di hasil akhir
+        if (hero == null || baseChangedAfterHero) {
+            hero = gson.fromJson(base, MovieDetailResponse.class);
+        }
+        return new RichMovieDetail(hero, cast, videos, backdropPaths, similar, true);
+    }
+
+    private static boolean isSubResource(String name) {
+        return "credits".equals(name) || "videos".equals(name)
+                || "images".equals(name) || "similar".equals(name);
+    }
+
+    // Membaca objek {..., arrayName: [...], ...}: maksimal limit elemen array dijadikan objek,
+    // elemen sisanya dan field lain di objek itu dilewati
+    private <T> List<T> readArrayField(JsonReader reader, String arrayName, Class<T> type, int limit)
+            throws IOException {
+        List<T> items = new ArrayList<>();
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return items;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!arrayName.equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (items.size() < limit) {
+                    T item = gson.fromJson(reader, type);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return items;
+    }
+}
@@ -1,29 +1,48 @@
 package com.example.filmhub.data.repository;
 
 import android.app.Application;
-import androidx.annotation.NonNull;
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.database.sqlite.SQLiteException;
+import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.example.filmhub.BuildConfig;
+import com.example.filmhub.data.backup.BackupStatus;
+import com.example.filmhub.data.backup.JournalBackup;
+import com.example.filmhub.data.cache.MembershipIndex;
+import com.example.filmhub.data.cache.PageCache;
+import com.example.filmhub.data.paging.LocalPagedList;
 import com.example.filmhub.database.entities.FavoriteMovie;
 import com.example.filmhub.data.model.GenreResponse;
 import com.example.filmhub.data.model.MovieDetailResponse;
 import com.example.filmhub.data.model.MovieResponse;
+import com.example.filmhub.data.model.RichMovieDetail;
+import com.example.filmhub.database.entities.WatchStats;
 import com.example.filmhub.database.entities.WatchedMovie;
 import com.example.filmhub.database.dao.FavoriteMovieDao;
+import com.example.filmhub.database.dao.JournalSearchDao;
 import com.example.filmhub.database.dao.WatchedMovieDao;
 import com.example.filmhub.database.db.AppDatabase;
+import com.example.filmhub.database.projections.FavoriteListItem;
+import com.example.filmhub.database.projections.JournalSearchResult;
+import com.example.filmhub.database.projections.WatchedListItem;
 import com.example.filmhub.networking.api.ApiService;
 import com.example.filmhub.networking.clients.RetrofitClient;
+import com.example.filmhub.utils.AppExecutors;
+import com.example.filmhub.utils.JournalSearchQuery;
+import com.google.gson.JsonParseException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import okhttp3.ResponseBody;
 
 /**
  * Repository bertindak sebagai Single Source of Truth.
@@ -32,24 +51,60 @@ import retrofit2.Response;
  */
 public class MovieRepository {
 
+    private static final String TAG = "MovieRepository";
+
+    // Daftar lokal (favorit, jurnal) dibaca per 30 baris, dua chunk di atas dan di bawah viewport
+    private static final int LOCAL_CHUNK_SIZE = 30;
+    private static final int LOCAL_CHUNKS_AROUND_VIEWPORT = 2;
+
+    // Jumlah hasil pencarian jurnal teratas yang dibuatkan snippet dan ditampilkan
+    private static final int JOURNAL_SEARCH_LIMIT = 50;
+
+    // Bahasa gambar untuk detail lengkap: backdrop bahasa Inggris dan tanpa teks
+    private static final String DETAIL_IMAGE_LANGUAGES = "en,null";
+
     private final ApiService apiService;
     private final FavoriteMovieDao favoriteMovieDao;
     private final WatchedMovieDao watchedMovieDao;
-    private final ExecutorService databaseExecutor; // <-- REVISI: Tambahkan Executor
+    private final JournalSearchDao journalSearchDao;
+    private final AppExecutors executors; // Writer berprioritas + pool reader, dipakai bersama Room
+    private final AppDatabase database;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final CatalogMediator catalogMediator;
+    private final WriteBehindBuffer writeBehindBuffer;
+    private final JournalBackup journalBackup;
+    private final ContentResolver contentResolver;
+    private final MembershipIndex membershipIndex;
+    private final MovieDetailStreamParser detailParser = new MovieDetailStreamParser();
     private static MovieRepository instance;
 
     // Constructor diubah untuk menerima Application context agar bisa inisialisasi database
     private MovieRepository(Application application) {
         // Inisialisasi Retrofit ApiService
-        this.apiService = RetrofitClient.getRetrofitInstance().create(ApiService.class);
+        this.apiService = RetrofitClient.getRetrofitInstance(application).create(ApiService.class);
 
         // Inisialisasi Database dan DAO
-        AppDatabase database = AppDatabase.getInstance(application);
+        this.database = AppDatabase.getInstance(application);
         this.favoriteMovieDao = database.favoriteMovieDao();
         this.watchedMovieDao = database.watchedMovieDao();
+        this.journalSearchDao = database.journalSearchDao();
+
+        // Executor database yang sama dengan yang dipakai Room (lihat AppDatabase)
+        this.executors = AppExecutors.getInstance();
+
+        // Katalog offline untuk feed Home (memori + tabel movies/remote_keys di Room)
+        PageCache pageCache = new PageCache(database.catalogDao(), executors);
+        this.catalogMediator = new CatalogMediator(pageCache, requestCoalescer);
+
+        // Favorit dan catatan tontonan ditulis tertunda dan digabung per film
+        this.writeBehindBuffer = new WriteBehindBuffer(database, executors);
+
+        // Ekspor/impor jurnal ke file (URI dari Storage Access Framework)
+        this.journalBackup = new JournalBackup(database, executors);
+        this.contentResolver = application.getContentResolver();
 
-        // REVISI: Inisialisasi Executor untuk menjalankan operasi database di background
-        this.databaseExecutor = Executors.newSingleThreadExecutor();
+        // Id favorit/tontonan di memori untuk badge grid Home, dimuat sekali lalu diikuti invalidasi Room
+        this.membershipIndex = new MembershipIndex(database, executors.diskRead());
     }
 
     // Singleton pattern diubah untuk menerima Application context
@@ -60,135 +115,279 @@ public class MovieRepository {
         return instance;
     }
 
+    /**
+     * Dipanggil saat aplikasi benar-benar ditutup (activity utama finishing).
+     * Tulis yang masih mengantre diselesaikan dulu, baru database ditutup dan thread dihentikan.
+     * Pemanggilan getInstance() berikutnya membuat repository, database, dan executor yang baru.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) return;
+        MovieRepository repository = instance;
+        instance = null;
+        // Mutasi yang masih ditahan ikut masuk antrean sebelum tugas penutup
+        repository.writeBehindBuffer.flush();
+        AppDatabase detached = AppDatabase.detachInstance();
+        repository.executors.shutdown(() -> {
+            if (detached != null) {
+                detached.close();
+            }
+        });
+    }
+
     // ===================================================================================
-    // BAGIAN API (TIDAK ADA PERUBAHAN)
+    // BAGIAN API
+    // Semua request dilewatkan ke RequestCoalescer, sehingga request identik yang masih
+    // berjalan (misal karena rotasi layar atau double tap) tidak dikirim dua kali.
     // ===================================================================================
 
+    // Discover dan pencarian dibaca dari katalog offline lewat CatalogMediator
     public LiveData<MovieResponse> getDiscoverMovies(String sortBy, String genreIds, int page) {
-        MutableLiveData<MovieResponse> data = new MutableLiveData<>();
-        apiService.getDiscoverMovies(BuildConfig.API_KEY, sortBy, genreIds, page)
-                .enqueue(new Callback<MovieResponse>() {
-                    @Override
-                    public void onResponse(@NonNull Call<MovieResponse> call, @NonNull Response<MovieResponse> response) {
-                        if (response.isSuccessful()) {
-                            data.setValue(response.body());
-                        } else {
-                            data.setValue(null);
-                        }
-                    }
-                    @Override
-                    public void onFailure(@NonNull Call<MovieResponse> call, @NonNull Throwable t) {
-                        data.setValue(null);
-                    }
-                });
-        return data;
+        return catalogMediator.loadPage(PageCache.discoverFeedKey(sortBy, genreIds), page,
+                () -> apiService.getDiscoverMovies(BuildConfig.API_KEY, sortBy, genreIds, page));
     }
 
     public LiveData<MovieResponse> searchMovies(String query, int page) {
-        MutableLiveData<MovieResponse> data = new MutableLiveData<>();
-        apiService.searchMovies(BuildConfig.API_KEY, query, page)
-                .enqueue(new Callback<MovieResponse>() {
-                    @Override
-                    public void onResponse(@NonNull Call<MovieResponse> call, @NonNull Response<MovieResponse> response) {
-                        if (response.isSuccessful()) {
-                            data.setValue(response.body());
-                        } else {
-                            data.setValue(null);
-                        }
-                    }
-                    @Override
-                    public void onFailure(@NonNull Call<MovieResponse> call, @NonNull Throwable t) {
-                        data.setValue(null);
-                    }
-                });
-        return data;
+        return catalogMediator.loadPage(PageCache.searchFeedKey(query), page,
+                () -> apiService.searchMovies(BuildConfig.API_KEY, query, page));
+    }
+
+    /**
+     * Membatalkan halaman discover/pencarian yang masih dimuat. Dipakai saat query diganti
+     * agar request untuk query lama tidak terus memakan bandwidth.
+     */
+    public void cancelPageRequest(LiveData<MovieResponse> page) {
+        catalogMediator.cancel(page);
     }
 
     public LiveData<GenreResponse> getGenres() {
-        MutableLiveData<GenreResponse> data = new MutableLiveData<>();
-        apiService.getGenres(BuildConfig.API_KEY)
-                .enqueue(new Callback<GenreResponse>() {
-                    @Override
-                    public void onResponse(@NonNull Call<GenreResponse> call, @NonNull Response<GenreResponse> response) {
-                        if (response.isSuccessful()) {
-                            data.setValue(response.body());
-                        } else {
-                            data.setValue(null);
-                        }
-                    }
-                    @Override
-                    public void onFailure(@NonNull Call<GenreResponse> call, @NonNull Throwable t) {
-                        data.setValue(null);
-                    }
-                });
-        return data;
-    }
-
-    public LiveData<MovieDetailResponse> getMovieDetails(int movieId) {
-        MutableLiveData<MovieDetailResponse> data = new MutableLiveData<>();
-        apiService.getMovieDetails(movieId, BuildConfig.API_KEY)
-                .enqueue(new Callback<MovieDetailResponse>() {
-                    @Override
-                    public void onResponse(@NonNull Call<MovieDetailResponse> call, @NonNull Response<MovieDetailResponse> response) {
-                        if (response.isSuccessful()) {
-                            data.setValue(response.body());
-                        } else {
-                            data.setValue(null);
-                        }
-                    }
-                    @Override
-                    public void onFailure(@NonNull Call<MovieDetailResponse> call, @NonNull Throwable t) {
-                        data.setValue(null);
-                    }
-                });
-        return data;
+        return requestCoalescer.enqueue("genres",
+                () -> apiService.getGenres(BuildConfig.API_KEY));
+    }
+
+    /**
+     * Detail film lengkap (pemeran, video, backdrop, film serupa) dalam satu request.
+     * LiveData terisi dua kali: bagian hero begitu field dasar selesai di-decode, lalu versi lengkap.
+     * Jika sub-resource gagal dibaca setelah hero terkirim, hero tetap dikirim sebagai hasil akhir;
+     * null hanya jika hero pun tidak didapat.
+     */
+    public LiveData<RichMovieDetail> getRichMovieDetails(int movieId) {
+        return requestCoalescer.enqueueStreaming("richDetails|" + movieId,
+                () -> apiService.getRichMovieDetails(movieId, BuildConfig.API_KEY,
+                        MovieDetailStreamParser.APPEND_TO_RESPONSE, DETAIL_IMAGE_LANGUAGES),
+                executors.networkDecode(),
+                (body, publishHero) -> decodeRichDetails(movieId, body, publishHero));
+    }
+
+    /**
+     * Membatalkan detail yang masih dimuat, misal saat layar detail ditutup. Jika tidak ada layar lain
+     * yang menunggu film yang sama, unduhan dan decode-nya langsung dihentikan.
+     */
+    public void cancelRichMovieDetails(LiveData<RichMovieDetail> details) {
+        requestCoalescer.cancel(details);
+    }
+
+    // Berjalan di thread decoder. Jika Call dibatalkan, pembacaan body gagal dengan IOException
+    // dan hasilnya tidak lagi punya penerima di RequestCoalescer.
+    private RichMovieDetail decodeRichDetails(int movieId, ResponseBody body, Consumer<RichMovieDetail> publishHero) {
+        MovieDetailResponse[] hero = new MovieDetailResponse[1];
+        try (ResponseBody closeable = body) {
+            RichMovieDetail detail = detailParser.parse(closeable.charStream(), parsedHero -> {
+                hero[0] = parsedHero;
+                publishHero.accept(RichMovieDetail.heroOnly(parsedHero, false));
+            });
+            return detail;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            Log.w(TAG, "Gagal membaca detail film " + movieId, e);
+            return hero[0] != null ? RichMovieDetail.heroOnly(hero[0], true) : null;
+        }
     }
 
     // ===================================================================================
     // REVISI: BAGIAN INTERAKSI DENGAN DATABASE FAVORIT
     // ===================================================================================
 
-    public LiveData<List<FavoriteMovie>> getAllFavoriteMovies() {
-        return favoriteMovieDao.getAllFavoriteMovies();
+    /**
+     * Daftar favorit yang dibaca bertahap per chunk di sekitar viewport,
+     * hanya kolom yang ditampilkan grid (FavoriteListItem).
+     */
+    public LocalPagedList<FavoriteListItem> getFavoriteMoviesPaged() {
+        return new LocalPagedList<>(database, executors.diskRead(), new String[]{"favorite_movies"},
+                favoriteMovieDao::countFavoriteMovies, favoriteMovieDao::getFavoriteListChunk,
+                LOCAL_CHUNK_SIZE, LOCAL_CHUNKS_AROUND_VIEWPORT);
     }
 
+    /**
+     * Status favorit dari database, langsung mencerminkan toggle yang belum ditulis (optimistis).
+     */
     public LiveData<FavoriteMovie> getFavoriteStatus(int movieId) {
-        return favoriteMovieDao.getFavoriteMovieById(movieId);
+        return writeBehindBuffer.favoriteStatus(movieId, favoriteMovieDao.getFavoriteMovieById(movieId));
     }
 
+    // Aksi pengguna lewat write-behind buffer: toggle beruntun untuk film yang sama
+    // digabung menjadi satu tulis, lalu ditulis di prioritas INTERACTIVE
     public void insertFavorite(FavoriteMovie favoriteMovie) {
-        databaseExecutor.execute(() -> {
-            favoriteMovieDao.insert(favoriteMovie);
-        });
+        writeBehindBuffer.setFavorite(favoriteMovie.movieId, favoriteMovie);
     }
 
     public void deleteFavorite(FavoriteMovie favoriteMovie) {
-        databaseExecutor.execute(() -> {
-            favoriteMovieDao.delete(favoriteMovie);
-        });
+        writeBehindBuffer.setFavorite(favoriteMovie.movieId, null);
+    }
+
+    /**
+     * Indeks movie_id favorit dan yang sudah ditonton untuk lookup O(1) saat bind grid.
+     */
+    public MembershipIndex getMembershipIndex() {
+        return membershipIndex;
+    }
+
+    /**
+     * Menulis semua mutasi favorit/tontonan yang masih ditahan. Dipanggil saat layar berhenti.
+     */
+    public void flushPendingWrites() {
+        writeBehindBuffer.flush();
     }
 
     // ===================================================================================
     // REVISI: BAGIAN INTERAKSI DENGAN DATABASE "SUDAH DITONTON"
     // ===================================================================================
 
-    public LiveData<List<WatchedMovie>> getAllWatchedMovies() {
-        return watchedMovieDao.getAllWatchedMovies();
+    /**
+     * Jurnal tontonan yang dibaca bertahap per chunk di sekitar viewport,
+     * hanya kolom yang ditampilkan daftar dan potongan awal ulasan (WatchedListItem).
+     */
+    public LocalPagedList<WatchedListItem> getWatchedMoviesPaged() {
+        return new LocalPagedList<>(database, executors.diskRead(), new String[]{"watched_movies"},
+                watchedMovieDao::countWatchedMovies, watchedMovieDao::getWatchedListChunk,
+                LOCAL_CHUNK_SIZE, LOCAL_CHUNKS_AROUND_VIEWPORT);
     }
 
     public LiveData<WatchedMovie> getWatchedStatus(int movieId) {
-        return watchedMovieDao.getWatchedMovieById(movieId);
+        return writeBehindBuffer.watchedStatus(movieId, watchedMovieDao.getWatchedMovieById(movieId));
     }
 
-    public void saveWatchedMovie(WatchedMovie watchedMovie) {
-        databaseExecutor.execute(() -> {
-            watchedMovieDao.insertOrUpdate(watchedMovie);
+    /**
+     * Nama genre yang paling sering ditonton, dihitung langsung oleh SQLite (GROUP BY + LIMIT).
+     */
+    public LiveData<List<String>> getTopWatchedGenres(int limit) {
+        return watchedMovieDao.getTopGenres(limit);
+    }
+
+    /**
+     * Agregat jurnal tontonan (jumlah film, total durasi, jumlah rating) yang dipelihara
+     * setiap kali jurnal berubah. Membacanya hanya satu baris, berapa pun jumlah catatan.
+     */
+    public LiveData<WatchStats> getWatchStats() {
+        return watchedMovieDao.getWatchStats();
+    }
+
+    /**
+     * Mengecek konsistensi agregat jurnal di background dan membangunnya ulang jika tidak cocok.
+     * Pengecekan ini memindai seluruh jurnal, jadi hanya dijalankan setelah impor yang menulis
+     * banyak baris sekaligus; kebenaran agregat setelah migrasi dicek di DatabaseMigrationTest.
+     */
+    private void verifyWatchStats() {
+        executors.diskWrite(AppExecutors.Priority.BULK, () -> {
+            if (!watchedMovieDao.verifyOrRebuildStats()) {
+                Log.w(TAG, "Agregat jurnal tidak konsisten, sudah dibangun ulang");
+            }
         });
     }
 
+    public void saveWatchedMovie(WatchedMovie watchedMovie) {
+        writeBehindBuffer.saveWatched(watchedMovie);
+    }
+
     public void deleteWatchedMovie(int movieId) { // <-- TAMBAHKAN METODE INI
-        databaseExecutor.execute(() -> {
-            watchedMovieDao.deleteById(movieId);
+        // Hapus dari daftar jurnal harus langsung terlihat, jadi buffer di-flush saat itu juga.
+        // Tetap lewat buffer agar urutannya benar terhadap simpan ulasan yang masih ditahan.
+        writeBehindBuffer.deleteWatched(movieId);
+        writeBehindBuffer.flush();
+    }
+
+    // ===================================================================================
+    // PENCARIAN JURNAL (FULL-TEXT)
+    // ===================================================================================
+
+    /**
+     * Mencari judul dan ulasan di jurnal tontonan dan favorit lewat indeks FTS.
+     * Kata biasa dicari sebagai awalan, teks dalam tanda kutip sebagai frasa; hasil diurutkan
+     * berdasarkan relevansi dan berisi snippet dengan kata yang cocok ditandai.
+     * Selama diamati, hasilnya dihitung ulang setiap kali jurnal atau favorit berubah.
+     */
+    public LiveData<List<JournalSearchResult>> searchJournal(String text) {
+        String expression = JournalSearchQuery.toMatchExpression(text);
+        if (expression == null) {
+            return new MutableLiveData<>(Collections.emptyList());
+        }
+        // Diamati lewat tabel sumber: journal_fts hanya diubah trigger dari kedua tabel ini, dan
+        // Room tidak bisa memasang trigger invalidasi di tabel virtual. Query jalan di diskRead().
+        return database.getInvalidationTracker().createLiveData(
+                new String[]{"watched_movies", "favorite_movies"}, false, () -> {
+                    try {
+                        return journalSearchDao.search(expression, JOURNAL_SEARCH_LIMIT);
+                    } catch (SQLiteException e) {
+                        Log.w(TAG, "Pencarian jurnal gagal untuk: " + expression, e);
+                        return Collections.<JournalSearchResult>emptyList();
+                    }
+                });
+    }
+
+    // ===================================================================================
+    // EKSPOR / IMPOR JURNAL
+    // ===================================================================================
+
+    /**
+     * Mengekspor jurnal tontonan dan favorit ke URI (JSON Lines), streaming lewat Cursor.
+     * Status berisi progres selama berjalan dan throughput (baris/detik) di akhir.
+     */
+    public LiveData<BackupStatus> exportJournal(Uri uri) {
+        MutableLiveData<BackupStatus> status = new MutableLiveData<>(BackupStatus.running(0, 0));
+        // Mutasi yang masih ditahan ditulis dulu; ekspor dimulai dari writer setelah flush itu
+        // (FIFO di prioritas yang sama), lalu berjalan di lane backup agar tidak menahan tulis lain
+        writeBehindBuffer.flush();
+        executors.diskWrite(AppExecutors.Priority.INTERACTIVE, () -> executors.backup().execute(() -> {
+            long startedAt = SystemClock.elapsedRealtime();
+            int[] rows = {0};
+            try (OutputStream output = contentResolver.openOutputStream(uri, "wt")) {
+                if (output == null) throw new IOException("Tidak bisa membuka " + uri);
+                journalBackup.export(output, count -> {
+                    rows[0] = count;
+                    status.postValue(BackupStatus.running(count, SystemClock.elapsedRealtime() - startedAt));
+                });
+                status.postValue(BackupStatus.done(rows[0], SystemClock.elapsedRealtime() - startedAt));
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Ekspor jurnal gagal", e);
+                status.postValue(BackupStatus.failed(rows[0], SystemClock.elapsedRealtime() - startedAt, e.getMessage()));
+            }
+        }));
+        return status;
+    }
+
+    /**
+     * Mengimpor file ekspor jurnal dari URI. File dibaca baris demi baris di lane backup,
+     * lalu ditulis per batch (prioritas BULK) agar aksi pengguna tetap responsif.
+     */
+    public LiveData<BackupStatus> importJournal(Uri uri) {
+        MutableLiveData<BackupStatus> status = new MutableLiveData<>(BackupStatus.running(0, 0));
+        // Mutasi yang ditahan masuk antrean lebih dulu, sehingga tidak menimpa hasil impor
+        writeBehindBuffer.flush();
+        executors.backup().execute(() -> {
+            long startedAt = SystemClock.elapsedRealtime();
+            int[] rows = {0};
+            try (InputStream input = contentResolver.openInputStream(uri)) {
+                if (input == null) throw new IOException("Tidak bisa membuka " + uri);
+                journalBackup.importFrom(input, count -> {
+                    rows[0] = count;
+                    status.postValue(BackupStatus.running(count, SystemClock.elapsedRealtime() - startedAt));
+                });
+                // Antre di belakang batch impor (BULK, FIFO), jadi mengecek hasil akhirnya
+                verifyWatchStats();
+                status.postValue(BackupStatus.done(rows[0], SystemClock.elapsedRealtime() - startedAt));
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Impor jurnal gagal", e);
+                status.postValue(BackupStatus.failed(rows[0], SystemClock.elapsedRealtime() - startedAt, e.getMessage()));
+            }
         });
+        return status;
     }
-}
\ No newline at end of file
+}
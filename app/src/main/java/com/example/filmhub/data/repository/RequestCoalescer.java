@@ -0,0 +1,204 @@
+package com.example.filmhub.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Lapisan deduplikasi request API.
+ * Request yang identik (endpoint + parameter sama) dan masih berjalan tidak dikirim ulang ke jaringan,
+ * melainkan ikut menunggu Call yang sudah ada. Hasilnya lalu disebarkan ke setiap pemanggil.
+ * Setiap pemanggil tetap mendapat LiveData miliknya sendiri, sehingga aman dipakai sebagai
+ * source MediatorLiveData yang berbeda-beda.
+ */
+public class RequestCoalescer {
+
+    /**
+     * Men-decode body respons yang di-stream, di thread decoder. Hasil antara (misal bagian hero)
+     * boleh dikirim lewat publishPartial; nilai kembalian adalah hasil akhir (null jika gagal).
+     * Decoder menangani error baca sendiri, termasuk IOException saat Call dibatalkan di tengah jalan.
+     */
+    public interface StreamDecoder<T> {
+        T decode(ResponseBody body, Consumer<T> publishPartial);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, InFlightRequest<?>> inFlight = new HashMap<>();
+
+    /**
+     * Menjalankan request untuk key tertentu, atau menumpang pada request identik yang masih berjalan.
+     *
+     * @param key         Identitas request, gabungan endpoint dan parameternya.
+     * @param callFactory Pembuat Call, hanya dipanggil jika belum ada request yang sedang berjalan.
+     * @return LiveData yang akan berisi body respons, atau null jika gagal.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LiveData<T> enqueue(String key, Supplier<Call<T>> callFactory) {
+        MutableLiveData<T> data = new MutableLiveData<>();
+        InFlightRequest<T> request;
+        synchronized (this) {
+            InFlightRequest<T> existing = (InFlightRequest<T>) inFlight.get(key);
+            if (existing != null) {
+                existing.subscribers.add(data);
+                return data;
+            }
+            request = new InFlightRequest<>(key, callFactory.get());
+            request.subscribers.add(data);
+            inFlight.put(key, request);
+        }
+
+        request.call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                deliver(request, response.isSuccessful() ? response.body() : null);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                deliver(request, null);
+            }
+        });
+        return data;
+    }
+
+    /**
+     * Seperti {@link #enqueue}, tetapi body respons di-stream dan di-decode sekali di decodeExecutor.
+     * Body tidak bisa dibaca dua kali, jadi yang dibagi ke pemanggil yang menumpang adalah hasil decode:
+     * setiap tahap dikirim ke semua pemanggil dengan setValue di main thread, sesuai urutannya.
+     * Pemanggil yang baru bergabung langsung mendapat tahap terakhir yang sudah terkirim.
+     * Pembatalan sama seperti {@link #enqueue}: lewat {@link #cancel} dengan LiveData yang dikembalikan.
+     * Jika decodeExecutor menolak tugas (RejectedExecutionException), body ditutup dan hasilnya null.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> LiveData<T> enqueueStreaming(String key, Supplier<Call<ResponseBody>> callFactory,
+                                            Executor decodeExecutor, StreamDecoder<T> decoder) {
+        MutableLiveData<T> data = new MutableLiveData<>();
+        InFlightRequest<T> request;
+        Call<ResponseBody> call;
+        synchronized (this) {
+            InFlightRequest<T> existing = (InFlightRequest<T>) inFlight.get(key);
+            if (existing != null) {
+                existing.subscribers.add(data);
+                if (existing.latest != null) {
+                    data.setValue(existing.latest);
+                }
+                return data;
+            }
+            call = callFactory.get();
+            request = new InFlightRequest<>(key, call);
+            request.subscribers.add(data);
+            inFlight.put(key, request);
+        }
+
+        call.enqueue(new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(@NonNull Call<ResponseBody> call, @NonNull Response<ResponseBody> response) {
+                ResponseBody body = response.body();
+                if (!response.isSuccessful() || body == null) {
+                    deliver(request, null);
+                    return;
+                }
+                // Body dibaca sambil diunduh di thread decoder; tiap tahap kembali ke main thread lewat
+                // Handler (bukan postValue) agar tahap antara tidak tertimpa hasil akhir
+                try {
+                    decodeExecutor.execute(() -> {
+                        T result = decoder.decode(body, partial -> mainHandler.post(() -> publish(request, partial)));
+                        mainHandler.post(() -> deliver(request, result));
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Decoder sudah dihentikan: body tidak akan dibaca, jadi koneksinya dilepas di sini
+                    body.close();
+                    deliver(request, null);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ResponseBody> call, @NonNull Throwable t) {
+                deliver(request, null);
+            }
+        });
+        return data;
+    }
+
+    /**
+     * Melepas satu pemanggil dari request yang sedang berjalan. LiveData-nya tidak akan menerima hasil.
+     * Jika tidak ada pemanggil lain yang masih menunggu, Call dibatalkan di level OkHttp
+     * sehingga koneksi/stream-nya langsung dilepas.
+     *
+     * @param handle LiveData yang sebelumnya dikembalikan oleh {@link #enqueue}.
+     * @return true jika Call benar-benar dibatalkan.
+     */
+    public boolean cancel(LiveData<?> handle) {
+        InFlightRequest<?> orphaned = null;
+        synchronized (this) {
+            for (InFlightRequest<?> request : inFlight.values()) {
+                if (request.subscribers.remove(handle)) {
+                    if (request.subscribers.isEmpty()) {
+                        inFlight.remove(request.key);
+                        orphaned = request;
+                    }
+                    break;
+                }
+            }
+        }
+        if (orphaned == null) return false;
+        orphaned.call.cancel();
+        return true;
+    }
+
+    // Hasil antara request streaming; request tetap berjalan. Hanya dari main thread.
+    private <T> void publish(InFlightRequest<T> request, T partial) {
+        List<MutableLiveData<T>> subscribers;
+        synchronized (this) {
+            request.latest = partial;
+            subscribers = new ArrayList<>(request.subscribers);
+        }
+        for (MutableLiveData<T> subscriber : subscribers) {
+            subscriber.setValue(partial);
+        }
+    }
+
+    // Callback Retrofit berjalan di main thread, jadi setValue aman dipakai di sini
+    private <T> void deliver(InFlightRequest<T> request, T result) {
+        List<MutableLiveData<T>> subscribers;
+        synchronized (this) {
+            if (inFlight.get(request.key) == request) {
+                inFlight.remove(request.key);
+            }
+            subscribers = new ArrayList<>(request.subscribers);
+        }
+        for (MutableLiveData<T> subscriber : subscribers) {
+            subscriber.setValue(result);
+        }
+    }
+
+    private static class InFlightRequest<T> {
+        final String key;
+        final Call<?> call;
+        final List<MutableLiveData<T>> subscribers = new ArrayList<>();
+        // Tahap terakhir yang sudah dikirim (hanya request streaming)
+        T latest;
+
+        InFlightRequest(String key, Call<?> call) {
+            this.key = key;
+            this.call = call;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.filmhub.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.filmhub.database.dao.FavoriteMovieDao;
+import com.example.filmhub.database.dao.WatchedMovieDao;
+import com.example.filmhub.database.db.AppDatabase;
+import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.database.entities.WatchedMovie;
+import com.example.filmhub.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffer write-behind untuk favorit dan catatan tontonan.
+ * Mutasi tidak langsung ditulis ke Room, melainkan ditahan sebentar per movie_id: mutasi berikutnya
+ * untuk film yang sama menggantikan yang lama (misal favorit di-toggle berkali-kali), lalu semuanya
+ * ditulis dalam satu transaksi. Sementara itu UI langsung melihat state optimistis lewat overlay.
+ * Semua metode publik dipanggil dari main thread.
+ */
+public class WriteBehindBuffer {
+
+    private static final String TAG = "WriteBehindBuffer";
+
+    // Jendela penggabungan sejak mutasi pertama sampai flush otomatis
+    private static final long COALESCE_WINDOW_MS = 1500;
+
+    // Satu mutasi tertunda. value null berarti hapus.
+    private static class Pending<T> {
+        final T value;
+        boolean flushing;
+
+        Pending(@Nullable T value) {
+            this.value = value;
+        }
+    }
+
+    private final AppDatabase database;
+    private final FavoriteMovieDao favoriteMovieDao;
+    private final WatchedMovieDao watchedMovieDao;
+    private final AppExecutors executors;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final Map<Integer, Pending<FavoriteMovie>> pendingFavorites = new HashMap<>();
+    private final Map<Integer, Pending<WatchedMovie>> pendingWatched = new HashMap<>();
+    // Berubah setiap kali ada mutasi baru, agar overlay menghitung ulang state optimistisnya
+    private final MutableLiveData<Integer> changes = new MutableLiveData<>(0);
+    // Berubah setiap kali flush gagal, agar overlay kembali ke nilai database. Tanpa nilai awal,
+    // sehingga overlay baru tidak langsung meng-emit nilai database yang belum dimuat.
+    private final MutableLiveData<Integer> rollbacks = new MutableLiveData<>();
+    private int rollbackCount = 0;
+    private final Runnable flushRunnable = this::flush;
+    private boolean flushScheduled = false;
+
+    public WriteBehindBuffer(AppDatabase database, AppExecutors executors) {
+        this.database = database;
+        this.favoriteMovieDao = database.favoriteMovieDao();
+        this.watchedMovieDao = database.watchedMovieDao();
+        this.executors = executors;
+    }
+
+    /**
+     * Menandai film sebagai favorit (favorite tidak null) atau menghapusnya dari favorit (null).
+     */
+    public void setFavorite(int movieId, @Nullable FavoriteMovie favorite) {
+        enqueue(pendingFavorites, movieId, favorite);
+    }
+
+    public void saveWatched(WatchedMovie watchedMovie) {
+        enqueue(pendingWatched, watchedMovie.movieId, watchedMovie);
+    }
+
+    public void deleteWatched(int movieId) {
+        enqueue(pendingWatched, movieId, null);
+    }
+
+    /**
+     * Status favorit dari database, ditimpa mutasi yang belum ditulis.
+     */
+    public LiveData<FavoriteMovie> favoriteStatus(int movieId, LiveData<FavoriteMovie> source) {
+        return overlay(movieId, source, pendingFavorites);
+    }
+
+    /**
+     * Catatan tontonan dari database, ditimpa mutasi yang belum ditulis.
+     */
+    public LiveData<WatchedMovie> watchedStatus(int movieId, LiveData<WatchedMovie> source) {
+        return overlay(movieId, source, pendingWatched);
+    }
+
+    private <T> void enqueue(Map<Integer, Pending<T>> pending, int movieId, @Nullable T value) {
+        pending.put(movieId, new Pending<>(value));
+        changes.setValue(changes.getValue() + 1);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            mainHandler.postDelayed(flushRunnable, COALESCE_WINDOW_MS);
+        }
+    }
+
+    private <T> LiveData<T> overlay(int movieId, LiveData<T> source, Map<Integer, Pending<T>> pending) {
+        MediatorLiveData<T> result = new MediatorLiveData<>();
+        // Emisi database: pakai nilai database kecuali masih ada mutasi untuk film ini
+        result.addSource(source, value -> {
+            Pending<T> entry = pending.get(movieId);
+            result.setValue(entry != null ? entry.value : value);
+        });
+        // Mutasi baru: langsung tampilkan nilai optimistisnya
+        result.addSource(changes, tick -> {
+            Pending<T> entry = pending.get(movieId);
+            if (entry != null) {
+                result.setValue(entry.value);
+            }
+        });
+        // Flush gagal: mutasi yang dibuang tidak lagi menimpa nilai database
+        result.addSource(rollbacks, tick -> {
+            Pending<T> entry = pending.get(movieId);
+            result.setValue(entry != null ? entry.value : source.getValue());
+        });
+        return result;
+    }
+
+    /**
+     * Menulis semua mutasi tertunda sekarang dalam satu transaksi di writer INTERACTIVE.
+     * Dipanggil otomatis setelah jendela penggabungan, atau saat layar berhenti (onStop).
+     */
+    public void flush() {
+        mainHandler.removeCallbacks(flushRunnable);
+        flushScheduled = false;
+
+        Map<Integer, Pending<FavoriteMovie>> favorites = takeUnflushed(pendingFavorites);
+        Map<Integer, Pending<WatchedMovie>> watched = takeUnflushed(pendingWatched);
+        if (favorites.isEmpty() && watched.isEmpty()) return;
+
+        executors.diskWrite(AppExecutors.Priority.INTERACTIVE, () -> {
+            try {
+                database.runInTransaction(() -> {
+                    for (Map.Entry<Integer, Pending<FavoriteMovie>> entry : favorites.entrySet()) {
+                        if (entry.getValue().value != null) {
+                            favoriteMovieDao.insert(entry.getValue().value);
+                        } else {
+                            favoriteMovieDao.deleteById(entry.getKey());
+                        }
+                    }
+                    for (Map.Entry<Integer, Pending<WatchedMovie>> entry : watched.entrySet()) {
+                        if (entry.getValue().value != null) {
+                            watchedMovieDao.insertOrUpdate(entry.getValue().value);
+                        } else {
+                            watchedMovieDao.deleteById(entry.getKey());
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Transaksi sudah di-rollback. Mutasinya dibuang (tidak diulang, agar kegagalan yang
+                // menetap tidak berputar terus) dan overlay kembali menampilkan isi database.
+                Log.e(TAG, "Gagal menulis " + (favorites.size() + watched.size()) + " mutasi", e);
+                mainHandler.post(() -> {
+                    release(pendingFavorites, favorites);
+                    release(pendingWatched, watched);
+                    rollbacks.setValue(++rollbackCount);
+                });
+                return;
+            }
+            // Mutasi yang sudah tertulis dilepas, kecuali sudah digantikan mutasi yang lebih baru.
+            // Overlay tetap menampilkan nilai terakhirnya sampai Room meng-emit data yang baru.
+            mainHandler.post(() -> {
+                release(pendingFavorites, favorites);
+                release(pendingWatched, watched);
+            });
+        });
+    }
+
+    private static <T> Map<Integer, Pending<T>> takeUnflushed(Map<Integer, Pending<T>> pending) {
+        Map<Integer, Pending<T>> batch = new HashMap<>();
+        for (Map.Entry<Integer, Pending<T>> entry : pending.entrySet()) {
+            if (!entry.getValue().flushing) {
+                entry.getValue().flushing = true;
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private static <T> void release(Map<Integer, Pending<T>> pending, Map<Integer, Pending<T>> written) {
+        List<Integer> done = new ArrayList<>();
+        for (Map.Entry<Integer, Pending<T>> entry : written.entrySet()) {
+            if (pending.get(entry.getKey()) == entry.getValue()) {
+                done.add(entry.getKey());
+            }
+        }
+        for (Integer movieId : done) {
+            pending.remove(movieId);
+        }
+    }
+}
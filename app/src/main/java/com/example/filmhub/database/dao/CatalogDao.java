@@ -0,0 +1,58 @@
+package com.example.filmhub.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.filmhub.database.entities.CatalogMovie;
+import com.example.filmhub.database.entities.RemoteKey;
+import java.util.List;
+
+/**
+ * DAO untuk katalog offline (tabel movies dan remote_keys).
+ * Semua metode bersifat sinkron dan harus dipanggil dari background thread.
+ */
+@Dao
+public interface CatalogDao {
+    @Query("SELECT * FROM movies WHERE feed_key = :feedKey AND page = :page ORDER BY position ASC")
+    List<CatalogMovie> getPage(String feedKey, int page);
+
+    @Query("SELECT * FROM remote_keys WHERE feed_key = :feedKey")
+    RemoteKey getRemoteKey(String feedKey);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertMovies(List<CatalogMovie> movies);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertRemoteKey(RemoteKey remoteKey);
+
+    @Query("DELETE FROM movies WHERE feed_key = :feedKey AND page = :page")
+    void deletePage(String feedKey, int page);
+
+    // Eviction: hapus feed yang paling lama tidak diperbarui, sisakan maxFeeds feed terbaru
+    @Query("DELETE FROM movies WHERE feed_key NOT IN " +
+            "(SELECT feed_key FROM remote_keys ORDER BY last_updated DESC LIMIT :maxFeeds)")
+    void deleteMoviesOutsideNewestFeeds(int maxFeeds);
+
+    @Query("DELETE FROM remote_keys WHERE feed_key NOT IN " +
+            "(SELECT feed_key FROM remote_keys ORDER BY last_updated DESC LIMIT :maxFeeds)")
+    void deleteRemoteKeysOutsideNewestFeeds(int maxFeeds);
+
+    /**
+     * Menyimpan satu halaman hasil API beserta remote key-nya dalam satu transaksi,
+     * sehingga pembaca tidak pernah melihat halaman setengah tertulis.
+     */
+    @Transaction
+    default void replacePage(String feedKey, int page, List<CatalogMovie> movies, RemoteKey remoteKey) {
+        deletePage(feedKey, page);
+        insertMovies(movies);
+        upsertRemoteKey(remoteKey);
+    }
+
+    @Transaction
+    default void trimToNewestFeeds(int maxFeeds) {
+        deleteMoviesOutsideNewestFeeds(maxFeeds);
+        deleteRemoteKeysOutsideNewestFeeds(maxFeeds);
+    }
+}
@@ -7,6 +7,7 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.database.projections.FavoriteListItem;
 import java.util.List;
 
 @Dao
@@ -17,8 +18,17 @@ public interface FavoriteMovieDao {
     @Delete
     void delete(FavoriteMovie favoriteMovie);
 
-    @Query("SELECT * FROM favorite_movies ORDER BY title ASC")
-    LiveData<List<FavoriteMovie>> getAllFavoriteMovies();
+    @Query("DELETE FROM favorite_movies WHERE movie_id = :movieId")
+    void deleteById(int movieId);
+
+    // Query bertahap untuk daftar favorit: dibaca per chunk, bukan seluruh tabel sekaligus
+    @Query("SELECT COUNT(*) FROM favorite_movies")
+    int countFavoriteMovies();
+
+    // Hanya kolom yang ditampilkan grid favorit
+    @Query("SELECT movie_id, title, poster_path FROM favorite_movies " +
+            "ORDER BY title ASC, movie_id ASC LIMIT :limit OFFSET :offset")
+    List<FavoriteListItem> getFavoriteListChunk(int limit, int offset);
 
     @Query("SELECT * FROM favorite_movies WHERE movie_id = :movieId")
     LiveData<FavoriteMovie> getFavoriteMovieById(int movieId);
@@ -0,0 +1,71 @@
+package com.example.filmhub.database.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.filmhub.database.projections.JournalSearchMatch;
+import com.example.filmhub.database.projections.JournalSearchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Pencarian full-text atas jurnal tontonan dan favorit lewat tabel FTS journal_fts.
+ * Parameter query adalah ekspresi MATCH FTS4 (lihat JournalSearchQuery), bukan teks mentah pengguna.
+ */
+@Dao
+public interface JournalSearchDao {
+
+    // Tahap 1: semua baris yang cocok, hanya rowid dan statistik kecocokan (tanpa snippet).
+    // Tidak dibatasi dengan LIMIT: tanpa urutan skor, LIMIT hanya mengambil baris dengan rowid terkecil
+    // dan baris yang lebih relevan tidak pernah dinilai. Blob 'pcx' per baris hanya beberapa puluh byte.
+    @Query("SELECT rowid, matchinfo(journal_fts, 'pcx') AS match_info FROM journal_fts " +
+            "WHERE journal_fts MATCH :query")
+    List<JournalSearchMatch> getMatches(String query);
+
+    // Tahap 2: judul dan snippet hanya untuk baris teratas. "+rowid" sengaja dipakai agar filter
+    // rowid tidak diserahkan ke modul FTS, sehingga pencarian tetap lewat MATCH (dibutuhkan snippet()).
+    @Query("SELECT rowid, title, snippet(journal_fts, :highlightStart, :highlightEnd, '…', -1, 12) AS snippet " +
+            "FROM journal_fts WHERE journal_fts MATCH :query AND +rowid IN (:rowIds)")
+    List<JournalSearchResult> getResults(String query, List<Long> rowIds,
+                                         String highlightStart, String highlightEnd);
+
+    /**
+     * Mencari dan memeringkat hasil. Semua baris yang cocok dinilai, tetapi hanya `limit` baris terbaik
+     * yang disimpan di heap dan dibuatkan snippet, jadi biayanya tetap kecil walau query cocok dengan
+     * puluhan ribu catatan.
+     * Sengaja tanpa transaksi: jika jurnal berubah di antara dua tahap, baris yang hilang hanya tidak ikut tampil.
+     */
+    default List<JournalSearchResult> search(String query, int limit) {
+        List<JournalSearchMatch> matches = getMatches(query);
+        if (matches.isEmpty()) return Collections.emptyList();
+
+        // Min-heap berukuran limit: skor terendah dibuang lebih dulu
+        Map<Long, Double> scores = new HashMap<>();
+        PriorityQueue<Long> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(scores::get));
+        for (JournalSearchMatch match : matches) {
+            scores.put(match.rowId, match.score());
+            top.add(match.rowId);
+            if (top.size() > limit) {
+                scores.remove(top.poll());
+            }
+        }
+
+        List<JournalSearchResult> results = getResults(query, new ArrayList<>(top),
+                JournalSearchResult.HIGHLIGHT_START, JournalSearchResult.HIGHLIGHT_END);
+        for (JournalSearchResult result : results) {
+            Double score = scores.get(result.rowId);
+            result.score = score != null ? score : 0;
+        }
+        Collections.sort(results, (a, b) -> {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Long.compare(a.rowId, b.rowId);
+        });
+        return results;
+    }
+}
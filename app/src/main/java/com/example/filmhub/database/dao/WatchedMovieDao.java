@@ -5,20 +5,186 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
+import com.example.filmhub.database.entities.GenreStat;
+import com.example.filmhub.database.entities.JournalGenre;
+import com.example.filmhub.database.entities.WatchStats;
 import com.example.filmhub.database.entities.WatchedMovie;
+import com.example.filmhub.database.entities.WatchedMovieGenre;
+import com.example.filmhub.database.projections.WatchedListItem;
+import java.util.ArrayList;
 import java.util.List;
 
 @Dao
 public interface WatchedMovieDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertOrUpdate(WatchedMovie watchedMovie);
+    void upsertWatchedRow(WatchedMovie watchedMovie);
 
-    @Query("SELECT * FROM watched_movies ORDER BY watched_date DESC")
-    LiveData<List<WatchedMovie>> getAllWatchedMovies();
+    // Query bertahap untuk daftar jurnal: dibaca per chunk, bukan seluruh tabel sekaligus
+    @Query("SELECT COUNT(*) FROM watched_movies")
+    int countWatchedMovies();
+
+    // Hanya kolom yang ditampilkan daftar; ulasan dipotong di SQLite (lihat WatchedListItem)
+    @Query("SELECT movie_id, title, poster_path, user_rating, " +
+            "substr(user_review, 1, " + WatchedListItem.REVIEW_SNIPPET_LENGTH + ") AS review_snippet " +
+            "FROM watched_movies ORDER BY watched_date DESC, movie_id DESC LIMIT :limit OFFSET :offset")
+    List<WatchedListItem> getWatchedListChunk(int limit, int offset);
 
     @Query("SELECT * FROM watched_movies WHERE movie_id = :movieId")
     LiveData<WatchedMovie> getWatchedMovieById(int movieId);
 
+    @Query("SELECT * FROM watched_movies WHERE movie_id = :movieId")
+    WatchedMovie getWatchedMovieByIdSync(int movieId);
+
     @Query("DELETE FROM watched_movies WHERE movie_id = :movieId")
-    void deleteById(int movieId);
+    void deleteWatchedRow(int movieId);
+
+    // ===== Genre ternormalisasi (tabel genres + watched_movie_genres) =====
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertGenre(JournalGenre genre);
+
+    @Query("SELECT genre_id FROM genres WHERE name = :name")
+    int getGenreId(String name);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertGenreLinks(List<WatchedMovieGenre> links);
+
+    @Query("DELETE FROM watched_movie_genres WHERE movie_id = :movieId")
+    void deleteGenreLinks(int movieId);
+
+    @Query("SELECT genre_id FROM watched_movie_genres WHERE movie_id = :movieId")
+    List<Integer> getGenreIdsForMovie(int movieId);
+
+    /**
+     * Nama N genre yang paling sering ditonton, dibaca dari genre_stats lewat index watched_count,
+     * sehingga hanya N baris yang dikirim ke aplikasi berapa pun besar jurnalnya.
+     */
+    @Query("SELECT g.name FROM genre_stats s " +
+            "INNER JOIN genres g ON g.genre_id = s.genre_id " +
+            "WHERE s.watched_count > 0 ORDER BY s.watched_count DESC, g.name ASC LIMIT :limit")
+    LiveData<List<String>> getTopGenres(int limit);
+
+    // ===== Agregat berjalan (tabel watch_stats + genre_stats) =====
+
+    @Query("SELECT * FROM watch_stats WHERE id = 1")
+    LiveData<WatchStats> getWatchStats();
+
+    @Query("SELECT * FROM watch_stats WHERE id = 1")
+    WatchStats getWatchStatsSync();
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertWatchStatsIfMissing(WatchStats stats);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void replaceWatchStats(WatchStats stats);
+
+    @Query("UPDATE watch_stats SET movie_count = movie_count + :countDelta, " +
+            "total_runtime = total_runtime + :runtimeDelta, rating_sum = rating_sum + :ratingDelta WHERE id = 1")
+    void adjustWatchStats(int countDelta, long runtimeDelta, double ratingDelta);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertGenreStatsIfMissing(List<GenreStat> stats);
+
+    @Query("UPDATE genre_stats SET watched_count = watched_count + :delta WHERE genre_id IN (:genreIds)")
+    void adjustGenreStats(List<Integer> genreIds, int delta);
+
+    @Query("SELECT * FROM genre_stats WHERE watched_count > 0 ORDER BY genre_id")
+    List<GenreStat> getGenreStatsSync();
+
+    @Query("DELETE FROM genre_stats")
+    void deleteAllGenreStats();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertGenreStats(List<GenreStat> stats);
+
+    // Perhitungan ulang dari nol, dipakai untuk pengecekan konsistensi dan rebuild
+    @Query("SELECT 1 AS id, COUNT(*) AS movie_count, COALESCE(SUM(runtime), 0) AS total_runtime, " +
+            "COALESCE(SUM(user_rating), 0) AS rating_sum FROM watched_movies")
+    WatchStats computeWatchStats();
+
+    @Query("SELECT genre_id, COUNT(*) AS watched_count FROM watched_movie_genres " +
+            "GROUP BY genre_id ORDER BY genre_id")
+    List<GenreStat> computeGenreStats();
+
+    /**
+     * Menyimpan (atau memperbarui) catatan tontonan beserta relasi genrenya dalam satu transaksi.
+     * Kontribusi versi lama (jika ada) dikurangkan dari agregat, lalu kontribusi versi baru ditambahkan.
+     */
+    @Transaction
+    default void insertOrUpdate(WatchedMovie watchedMovie) {
+        WatchedMovie previous = getWatchedMovieByIdSync(watchedMovie.movieId);
+        if (previous != null) {
+            removeFromStats(previous);
+        }
+        upsertWatchedRow(watchedMovie);
+        deleteGenreLinks(watchedMovie.movieId);
+        List<String> genreNames = WatchedMovie.parseGenreNames(watchedMovie.genres);
+        List<WatchedMovieGenre> links = new ArrayList<>(genreNames.size());
+        List<Integer> genreIds = new ArrayList<>(genreNames.size());
+        List<GenreStat> emptyStats = new ArrayList<>(genreNames.size());
+        for (String name : genreNames) {
+            long genreId = insertGenre(new JournalGenre(name));
+            if (genreId == -1) {
+                genreId = getGenreId(name); // Genre sudah ada
+            }
+            links.add(new WatchedMovieGenre(watchedMovie.movieId, (int) genreId));
+            genreIds.add((int) genreId);
+            emptyStats.add(new GenreStat((int) genreId, 0));
+        }
+        insertWatchStatsIfMissing(WatchStats.empty());
+        adjustWatchStats(1, watchedMovie.runtime, watchedMovie.userRating);
+        if (!links.isEmpty()) {
+            insertGenreLinks(links);
+            insertGenreStatsIfMissing(emptyStats);
+            adjustGenreStats(genreIds, 1);
+        }
+    }
+
+    @Transaction
+    default void deleteById(int movieId) {
+        WatchedMovie previous = getWatchedMovieByIdSync(movieId);
+        if (previous == null) return;
+        removeFromStats(previous);
+        deleteGenreLinks(movieId);
+        deleteWatchedRow(movieId);
+    }
+
+    // Harus dipanggil sebelum relasi genre film tersebut dihapus
+    default void removeFromStats(WatchedMovie movie) {
+        adjustWatchStats(-1, -movie.runtime, -movie.userRating);
+        List<Integer> genreIds = getGenreIdsForMovie(movie.movieId);
+        if (!genreIds.isEmpty()) {
+            adjustGenreStats(genreIds, -1);
+        }
+    }
+
+    /**
+     * Mencocokkan agregat yang tersimpan dengan hasil perhitungan ulang dari watched_movies.
+     * Jika berbeda (misal setelah crash di tengah migrasi atau bug), agregat dibangun ulang dari nol.
+     *
+     * @return true jika agregat sudah konsisten, false jika tadi harus dibangun ulang.
+     */
+    @Transaction
+    default boolean verifyOrRebuildStats() {
+        WatchStats expected = computeWatchStats();
+        List<GenreStat> expectedGenres = computeGenreStats();
+        if (expected.sameAs(getWatchStatsSync()) && sameGenreStats(expectedGenres, getGenreStatsSync())) {
+            return true;
+        }
+        replaceWatchStats(expected);
+        deleteAllGenreStats();
+        insertGenreStats(expectedGenres);
+        return false;
+    }
+
+    static boolean sameGenreStats(List<GenreStat> a, List<GenreStat> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).genreId != b.get(i).genreId || a.get(i).watchedCount != b.get(i).watchedCount) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
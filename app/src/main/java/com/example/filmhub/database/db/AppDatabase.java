@@ -1,13 +1,25 @@
 package com.example.filmhub.database.db;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import com.example.filmhub.database.entities.CatalogMovie;
 import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.database.entities.GenreStat;
+import com.example.filmhub.database.entities.JournalGenre;
+import com.example.filmhub.database.entities.JournalSearchEntry;
+import com.example.filmhub.database.entities.RemoteKey;
+import com.example.filmhub.database.entities.WatchStats;
 import com.example.filmhub.database.entities.WatchedMovie;
+import com.example.filmhub.database.entities.WatchedMovieGenre;
+import com.example.filmhub.database.dao.CatalogDao;
 import com.example.filmhub.database.dao.FavoriteMovieDao;
+import com.example.filmhub.database.dao.JournalSearchDao;
 import com.example.filmhub.database.dao.WatchedMovieDao;
+import com.example.filmhub.utils.AppExecutors;
 
 /**
  * Ini adalah kelas utama database Room untuk aplikasi.
@@ -17,13 +29,21 @@ import com.example.filmhub.database.dao.WatchedMovieDao;
 // Anotasi @Database untuk menandai kelas ini sebagai database Room.
 // 'entities' berisi daftar semua kelas Entity (tabel) yang akan digunakan.
 // 'version' adalah versi database, harus dinaikkan setiap kali ada perubahan skema.
-@Database(entities = {FavoriteMovie.class, WatchedMovie.class}, version = 1, exportSchema = false)
+// Migrasi antar versi ada di DatabaseMigrations. Skema tiap versi diekspor ke app/schemas
+// (lihat room.schemaLocation di build.gradle.kts) dan ikut di-commit sebagai riwayat skema;
+// DatabaseMigrationTest memakai file-file itu untuk membuat database versi lama.
+@Database(entities = {FavoriteMovie.class, WatchedMovie.class, CatalogMovie.class, RemoteKey.class,
+        JournalGenre.class, WatchedMovieGenre.class, WatchStats.class, GenreStat.class,
+        JournalSearchEntry.class},
+        version = 8, exportSchema = true)
 public abstract class AppDatabase extends RoomDatabase {
 
     // Metode abstrak untuk mendapatkan instance dari setiap DAO.
     // Room akan otomatis meng-generate implementasi untuk metode ini.
     public abstract FavoriteMovieDao favoriteMovieDao();
     public abstract WatchedMovieDao watchedMovieDao();
+    public abstract CatalogDao catalogDao();
+    public abstract JournalSearchDao journalSearchDao();
 
     // 'volatile' memastikan variabel ini selalu up-to-date di semua thread.
     private static volatile AppDatabase INSTANCE;
@@ -43,8 +63,21 @@ public abstract class AppDatabase extends RoomDatabase {
             synchronized (AppDatabase.class) {
                 // Pengecekan ulang di dalam blok synchronized untuk keamanan thread.
                 if (INSTANCE == null) {
+                    // Baca lewat pool reader, tulis lewat satu writer; WAL membuat keduanya tidak saling menunggu
+                    AppExecutors executors = AppExecutors.getInstance();
                     INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                                     AppDatabase.class, "movie_journal_database") // "movie_journal_database" adalah nama file database di perangkat.
+                            .addMigrations(DatabaseMigrations.ALL)
+                            .addCallback(new Callback() {
+                                @Override
+                                public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                    // Instalasi baru tidak melewati migrasi, jadi trigger FTS dibuat di sini
+                                    DatabaseMigrations.createJournalSearchTriggers(db);
+                                }
+                            })
+                            .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                            .setQueryExecutor(executors.diskRead())
+                            .setTransactionExecutor(executors.diskWrite())
                             .build();
                 }
             }
@@ -52,4 +85,16 @@ public abstract class AppDatabase extends RoomDatabase {
         // Jika instance sudah ada, langsung kembalikan.
         return INSTANCE;
     }
+
+    /**
+     * Melepas instance singleton tanpa menutupnya, agar getInstance() berikutnya membuat koneksi baru.
+     * Pemanggil bertanggung jawab menutup instance yang dikembalikan setelah tulisannya selesai.
+     */
+    public static AppDatabase detachInstance() {
+        synchronized (AppDatabase.class) {
+            AppDatabase detached = INSTANCE;
+            INSTANCE = null;
+            return detached;
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package com.example.filmhub.database.db;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.filmhub.database.entities.WatchedMovie;
+
+/**
+ * Kumpulan migrasi skema AppDatabase.
+ * Setiap kali versi database dinaikkan, tambahkan migrasi baru di sini dan daftarkan di AppDatabase,
+ * agar data pengguna (favorit dan riwayat tontonan) tidak hilang saat aplikasi diperbarui.
+ */
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {
+    }
+
+    // Versi 2: tabel cached_pages untuk tier Room dari PageCache
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `cached_pages` (`page_key` TEXT NOT NULL, "
+                    + "`payload` TEXT, `cached_at` INTEGER NOT NULL, PRIMARY KEY(`page_key`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cached_pages_cached_at` "
+                    + "ON `cached_pages` (`cached_at`)");
+        }
+    };
+
+    // Versi 3: katalog offline (movies + remote_keys) menggantikan cached_pages
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP TABLE IF EXISTS `cached_pages`");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `movies` (`feed_key` TEXT NOT NULL, "
+                    + "`page` INTEGER NOT NULL, `position` INTEGER NOT NULL, `movie_id` INTEGER NOT NULL, "
+                    + "`title` TEXT, `poster_path` TEXT, `overview` TEXT, `vote_average` REAL NOT NULL, "
+                    + "`fetched_at` INTEGER NOT NULL, PRIMARY KEY(`feed_key`, `page`, `position`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `remote_keys` (`feed_key` TEXT NOT NULL, "
+                    + "`next_page` INTEGER, `total_pages` INTEGER NOT NULL, `last_updated` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`feed_key`))");
+        }
+    };
+
+    // Versi 4: genre jurnal dinormalisasi ke tabel genres + watched_movie_genres.
+    // Teks genre dari catatan yang sudah ada dipecah sekali di sini (back-fill).
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `genres` (`genre_id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`name` TEXT NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_genres_name` ON `genres` (`name`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `watched_movie_genres` (`movie_id` INTEGER NOT NULL, "
+                    + "`genre_id` INTEGER NOT NULL, PRIMARY KEY(`movie_id`, `genre_id`), "
+                    + "FOREIGN KEY(`movie_id`) REFERENCES `watched_movies`(`movie_id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`genre_id`) REFERENCES `genres`(`genre_id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_watched_movie_genres_genre_id` "
+                    + "ON `watched_movie_genres` (`genre_id`)");
+
+            try (Cursor cursor = db.query("SELECT `movie_id`, `genres` FROM `watched_movies`")) {
+                while (cursor.moveToNext()) {
+                    int movieId = cursor.getInt(0);
+                    String genres = cursor.isNull(1) ? null : cursor.getString(1);
+                    for (String name : WatchedMovie.parseGenreNames(genres)) {
+                        db.execSQL("INSERT OR IGNORE INTO `genres` (`name`) VALUES (?)", new Object[]{name});
+                        db.execSQL("INSERT OR IGNORE INTO `watched_movie_genres` (`movie_id`, `genre_id`) "
+                                + "SELECT ?, `genre_id` FROM `genres` WHERE `name` = ?", new Object[]{movieId, name});
+                    }
+                }
+            }
+        }
+    };
+
+    // Versi 5: agregat berjalan jurnal tontonan (watch_stats + genre_stats), diisi dari data yang ada
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `watch_stats` (`id` INTEGER NOT NULL, "
+                    + "`movie_count` INTEGER NOT NULL, `total_runtime` INTEGER NOT NULL, "
+                    + "`rating_sum` REAL NOT NULL, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `genre_stats` (`genre_id` INTEGER NOT NULL, "
+                    + "`watched_count` INTEGER NOT NULL, PRIMARY KEY(`genre_id`), "
+                    + "FOREIGN KEY(`genre_id`) REFERENCES `genres`(`genre_id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_genre_stats_watched_count` "
+                    + "ON `genre_stats` (`watched_count`)");
+
+            db.execSQL("INSERT INTO `watch_stats` (`id`, `movie_count`, `total_runtime`, `rating_sum`) "
+                    + "SELECT 1, COUNT(*), COALESCE(SUM(`runtime`), 0), COALESCE(SUM(`user_rating`), 0) "
+                    + "FROM `watched_movies`");
+            db.execSQL("INSERT INTO `genre_stats` (`genre_id`, `watched_count`) "
+                    + "SELECT `genre_id`, COUNT(*) FROM `watched_movie_genres` GROUP BY `genre_id`");
+        }
+    };
+
+    // Versi 6: index untuk urutan daftar dan eviction katalog, agar query tidak lagi
+    // mengurutkan seluruh tabel setiap kali dijalankan
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_favorite_movies_title_movie_id_poster_path` "
+                    + "ON `favorite_movies` (`title`, `movie_id`, `poster_path`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_watched_movies_watched_date` "
+                    + "ON `watched_movies` (`watched_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_remote_keys_last_updated` "
+                    + "ON `remote_keys` (`last_updated`)");
+        }
+    };
+
+    // Versi 7: indeks full-text journal_fts atas judul dan ulasan, dijaga sinkron oleh trigger
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `journal_fts` USING FTS4("
+                    + "`title` TEXT, `review` TEXT, tokenize=unicode61)");
+            createJournalSearchTriggers(db);
+            db.execSQL("INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                    + "SELECT `movie_id` * 2, `title`, `user_review` FROM `watched_movies`");
+            db.execSQL("INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                    + "SELECT `movie_id` * 2 + 1, `title`, NULL FROM `favorite_movies`");
+        }
+    };
+
+    // Versi 8: kolom next_page dibuang dari remote_keys (tidak pernah dibaca). SQLite di minSdk 24
+    // belum mendukung DROP COLUMN, jadi tabelnya dibuat ulang.
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `remote_keys_new` (`feed_key` TEXT NOT NULL, "
+                    + "`total_pages` INTEGER NOT NULL, `last_updated` INTEGER NOT NULL, PRIMARY KEY(`feed_key`))");
+            db.execSQL("INSERT INTO `remote_keys_new` (`feed_key`, `total_pages`, `last_updated`) "
+                    + "SELECT `feed_key`, `total_pages`, `last_updated` FROM `remote_keys`");
+            db.execSQL("DROP TABLE `remote_keys`");
+            db.execSQL("ALTER TABLE `remote_keys_new` RENAME TO `remote_keys`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_remote_keys_last_updated` "
+                    + "ON `remote_keys` (`last_updated`)");
+        }
+    };
+
+    /**
+     * Trigger yang menyalin setiap perubahan watched_movies dan favorite_movies ke journal_fts
+     * (rowid = movie_id * 2 untuk jurnal, movie_id * 2 + 1 untuk favorit, lihat JournalSearchEntry).
+     * Room tidak mengenal trigger, jadi dibuat di migrasi dan di callback onCreate AppDatabase.
+     * Insert dengan REPLACE tidak memicu trigger DELETE, karena itu trigger INSERT menghapus baris lama dulu.
+     */
+    static void createJournalSearchTriggers(SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_watched_insert` AFTER INSERT ON `watched_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = NEW.`movie_id` * 2; "
+                + "INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                + "VALUES (NEW.`movie_id` * 2, NEW.`title`, NEW.`user_review`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_watched_update` "
+                + "AFTER UPDATE OF `movie_id`, `title`, `user_review` ON `watched_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = OLD.`movie_id` * 2; "
+                + "INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                + "VALUES (NEW.`movie_id` * 2, NEW.`title`, NEW.`user_review`); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_watched_delete` AFTER DELETE ON `watched_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = OLD.`movie_id` * 2; END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_favorite_insert` AFTER INSERT ON `favorite_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = NEW.`movie_id` * 2 + 1; "
+                + "INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                + "VALUES (NEW.`movie_id` * 2 + 1, NEW.`title`, NULL); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_favorite_update` "
+                + "AFTER UPDATE OF `movie_id`, `title` ON `favorite_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = OLD.`movie_id` * 2 + 1; "
+                + "INSERT INTO `journal_fts` (rowid, `title`, `review`) "
+                + "VALUES (NEW.`movie_id` * 2 + 1, NEW.`title`, NULL); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `journal_fts_favorite_delete` AFTER DELETE ON `favorite_movies` BEGIN "
+                + "DELETE FROM `journal_fts` WHERE rowid = OLD.`movie_id` * 2 + 1; END");
+    }
+
+    public static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    };
+}
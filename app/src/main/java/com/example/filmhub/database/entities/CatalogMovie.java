@@ -0,0 +1,54 @@
+package com.example.filmhub.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+
+/**
+ * Satu film di katalog offline (tabel "movies").
+ * Baris dikelompokkan per feed (discover dengan sortir/genre tertentu, atau pencarian)
+ * dan per halaman API, sehingga feed bisa dibaca ulang halaman demi halaman tanpa jaringan.
+ */
+@Entity(tableName = "movies", primaryKeys = {"feed_key", "page", "position"})
+public class CatalogMovie {
+    @NonNull
+    @ColumnInfo(name = "feed_key")
+    public String feedKey;
+
+    @ColumnInfo(name = "page")
+    public int page;
+
+    @ColumnInfo(name = "position")
+    public int position; // Urutan film di dalam halaman, sesuai urutan dari API
+
+    @ColumnInfo(name = "movie_id")
+    public int movieId;
+
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "poster_path")
+    public String posterPath;
+
+    @ColumnInfo(name = "overview")
+    public String overview;
+
+    @ColumnInfo(name = "vote_average")
+    public double voteAverage;
+
+    @ColumnInfo(name = "fetched_at")
+    public long fetchedAt; // Timestamp saat halaman ini diambil dari jaringan
+
+    public CatalogMovie(@NonNull String feedKey, int page, int position, int movieId, String title,
+                        String posterPath, String overview, double voteAverage, long fetchedAt) {
+        this.feedKey = feedKey;
+        this.page = page;
+        this.position = position;
+        this.movieId = movieId;
+        this.title = title;
+        this.posterPath = posterPath;
+        this.overview = overview;
+        this.voteAverage = voteAverage;
+        this.fetchedAt = fetchedAt;
+    }
+}
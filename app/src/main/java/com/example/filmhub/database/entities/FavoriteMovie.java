@@ -2,9 +2,13 @@ package com.example.filmhub.database.entities;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "favorite_movies")
+// Index (title, movie_id, poster_path) mengikuti urutan daftar favorit dan mencakup semua kolom
+// yang ditampilkan, sehingga daftar dibaca langsung dari index tanpa sort dan tanpa membuka tabel.
+@Entity(tableName = "favorite_movies",
+        indices = {@Index(value = {"title", "movie_id", "poster_path"})})
 public class FavoriteMovie {
     @PrimaryKey@ColumnInfo(name = "movie_id")
     public int movieId;
@@ -0,0 +1,30 @@
+package com.example.filmhub.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Jumlah film yang ditonton per genre (tabel "genre_stats").
+ * Dipelihara bersama watch_stats; index pada watched_count membuat Top-N genre cukup membaca
+ * N entri teratas dari index.
+ */
+@Entity(tableName = "genre_stats",
+        foreignKeys = @ForeignKey(entity = JournalGenre.class, parentColumns = "genre_id",
+                childColumns = "genre_id", onDelete = ForeignKey.CASCADE),
+        indices = {@Index("watched_count")})
+public class GenreStat {
+    @PrimaryKey
+    @ColumnInfo(name = "genre_id")
+    public int genreId;
+
+    @ColumnInfo(name = "watched_count")
+    public int watchedCount;
+
+    public GenreStat(int genreId, int watchedCount) {
+        this.genreId = genreId;
+        this.watchedCount = watchedCount;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.filmhub.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Satu genre yang pernah muncul di jurnal tontonan (tabel "genres").
+ * Nama genre disimpan sekali saja (unik), film yang ditonton merujuknya lewat tabel watched_movie_genres.
+ */
+@Entity(tableName = "genres", indices = {@Index(value = "name", unique = true)})
+public class JournalGenre {
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "genre_id")
+    public int genreId;
+
+    @NonNull
+    @ColumnInfo(name = "name")
+    public String name;
+
+    public JournalGenre(@NonNull String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.filmhub.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+/**
+ * Indeks full-text (FTS4) atas judul dan ulasan di jurnal tontonan dan favorit (tabel "journal_fts").
+ * Isinya tidak pernah ditulis langsung dari kode: trigger pada watched_movies dan favorite_movies
+ * (lihat DatabaseMigrations.createJournalSearchTriggers) menjaganya selalu sinkron.
+ * rowid menyandikan sumber baris: movie_id * 2 untuk jurnal tontonan, movie_id * 2 + 1 untuk favorit.
+ */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "journal_fts")
+public class JournalSearchEntry {
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    public long rowId;
+
+    @ColumnInfo(name = "title")
+    public String title;
+
+    // Ulasan pengguna; selalu null untuk baris favorit
+    @ColumnInfo(name = "review")
+    public String review;
+
+    // Indeks kolom FTS, dipakai snippet() dan matchinfo()
+    public static final int COLUMN_TITLE = 0;
+    public static final int COLUMN_REVIEW = 1;
+
+    public static long watchedRowId(int movieId) {
+        return movieId * 2L;
+    }
+
+    public static long favoriteRowId(int movieId) {
+        return movieId * 2L + 1;
+    }
+
+    public static int movieIdOf(long rowId) {
+        return (int) (rowId >> 1);
+    }
+
+    public static boolean isFavoriteRow(long rowId) {
+        return (rowId & 1) == 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.filmhub.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Status paginasi remote untuk satu feed di katalog offline (tabel "remote_keys").
+ * Dipakai mediator untuk mengetahui jumlah total halaman tanpa harus bertanya ke API,
+ * dan waktu pembaruan terakhir feed untuk eviction.
+ */
+@Entity(tableName = "remote_keys", indices = {@Index("last_updated")})
+public class RemoteKey {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "feed_key")
+    public String feedKey;
+
+    @ColumnInfo(name = "total_pages")
+    public int totalPages;
+
+    @ColumnInfo(name = "last_updated")
+    public long lastUpdated;
+
+    public RemoteKey(@NonNull String feedKey, int totalPages, long lastUpdated) {
+        this.feedKey = feedKey;
+        this.totalPages = totalPages;
+        this.lastUpdated = lastUpdated;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.filmhub.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Agregat berjalan jurnal tontonan (tabel "watch_stats", selalu tepat satu baris dengan id 1).
+ * Diperbarui di transaksi yang sama dengan setiap insert, update, dan delete di watched_movies,
+ * sehingga header Analytics cukup membaca satu baris ini.
+ */
+@Entity(tableName = "watch_stats")
+public class WatchStats {
+    public static final int SINGLETON_ID = 1;
+
+    @PrimaryKey
+    @ColumnInfo(name = "id")
+    public int id;
+
+    @ColumnInfo(name = "movie_count")
+    public int movieCount;
+
+    @ColumnInfo(name = "total_runtime")
+    public long totalRuntime; // Total durasi dalam menit
+
+    @ColumnInfo(name = "rating_sum")
+    public double ratingSum;
+
+    public WatchStats(int id, int movieCount, long totalRuntime, double ratingSum) {
+        this.id = id;
+        this.movieCount = movieCount;
+        this.totalRuntime = totalRuntime;
+        this.ratingSum = ratingSum;
+    }
+
+    public static WatchStats empty() {
+        return new WatchStats(SINGLETON_ID, 0, 0, 0);
+    }
+
+    public float getAverageRating() {
+        return movieCount == 0 ? 0f : (float) (ratingSum / movieCount);
+    }
+
+    /**
+     * Membandingkan dua agregat, dengan toleransi kecil untuk jumlah rating (floating point).
+     */
+    public boolean sameAs(WatchStats other) {
+        return other != null && movieCount == other.movieCount && totalRuntime == other.totalRuntime
+                && Math.abs(ratingSum - other.ratingSum) < 0.001;
+    }
+}
@@ -2,9 +2,14 @@ package com.example.filmhub.database.entities;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "watched_movies")
+import java.util.ArrayList;
+import java.util.List;
+
+// Index watched_date (+ rowid = movie_id) sesuai urutan jurnal "terbaru dulu" bila dibaca mundur
+@Entity(tableName = "watched_movies", indices = {@Index("watched_date")})
 public class WatchedMovie {
     @PrimaryKey
     @ColumnInfo(name = "movie_id")
@@ -29,6 +34,7 @@ public class WatchedMovie {
     public int runtime; // Durasi film dalam menit
 
     // TAMBAHKAN KOLOM INI
+    // Teks genre apa adanya untuk ditampilkan. Untuk agregasi, pakai tabel watched_movie_genres.
     @ColumnInfo(name = "genres")
     public String genres;
 
@@ -46,6 +52,21 @@ public class WatchedMovie {
         this.runtime = runtime;
     }
 
+    /**
+     * Memecah teks genre (misal "Action, Sci-Fi") menjadi daftar nama genre yang unik dan sudah di-trim.
+     */
+    public static List<String> parseGenreNames(String genres) {
+        List<String> names = new ArrayList<>();
+        if (genres == null || genres.isEmpty()) return names;
+        for (String genre : genres.split(",")) {
+            String trimmed = genre.trim();
+            if (!trimmed.isEmpty() && !names.contains(trimmed)) {
+                names.add(trimmed);
+            }
+        }
+        return names;
+    }
+
     public int getMovieId() {
         return movieId;
     }
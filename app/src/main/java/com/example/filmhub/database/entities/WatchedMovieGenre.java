@@ -0,0 +1,33 @@
+package com.example.filmhub.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Tabel penghubung film yang ditonton dengan genrenya (tabel "watched_movie_genres").
+ * Index pada genre_id membuat agregasi per genre (GROUP BY genre_id) cukup membaca index saja.
+ * Baris ikut terhapus saat film atau genrenya dihapus.
+ */
+@Entity(tableName = "watched_movie_genres",
+        primaryKeys = {"movie_id", "genre_id"},
+        foreignKeys = {
+                @ForeignKey(entity = WatchedMovie.class, parentColumns = "movie_id",
+                        childColumns = "movie_id", onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = JournalGenre.class, parentColumns = "genre_id",
+                        childColumns = "genre_id", onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index("genre_id")})
+public class WatchedMovieGenre {
+    @ColumnInfo(name = "movie_id")
+    public int movieId;
+
+    @ColumnInfo(name = "genre_id")
+    public int genreId;
+
+    public WatchedMovieGenre(int movieId, int genreId) {
+        this.movieId = movieId;
+        this.genreId = genreId;
+    }
+}
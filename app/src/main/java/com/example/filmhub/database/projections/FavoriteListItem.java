@@ -0,0 +1,18 @@
+package com.example.filmhub.database.projections;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Proyeksi ringan untuk grid favorit: hanya kolom yang benar-benar ditampilkan.
+ * Dibind langsung oleh FavoriteListAdapter tanpa dikonversi ke objek lain.
+ */
+public class FavoriteListItem {
+    @ColumnInfo(name = "movie_id")
+    public int movieId;
+
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "poster_path")
+    public String posterPath;
+}
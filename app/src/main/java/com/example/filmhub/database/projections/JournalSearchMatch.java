@@ -0,0 +1,50 @@
+package com.example.filmhub.database.projections;
+
+import androidx.room.ColumnInfo;
+
+import com.example.filmhub.database.entities.JournalSearchEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Satu baris yang cocok dengan query FTS beserta matchinfo(journal_fts, 'pcx'),
+ * tanpa snippet, agar tahap pemeringkatan tetap murah walau hasilnya ribuan baris.
+ */
+public class JournalSearchMatch {
+    // Kecocokan di judul lebih berarti daripada di ulasan
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double REVIEW_WEIGHT = 1.0;
+
+    @ColumnInfo(name = "rowid")
+    public long rowId;
+
+    @ColumnInfo(name = "match_info")
+    public byte[] matchInfo;
+
+    /**
+     * Skor relevansi dari matchinfo 'pcx': untuk setiap frasa dan kolom, jumlah kemunculan di baris ini
+     * dibagi jumlah kemunculan di seluruh tabel, dikali bobot kolom. Istilah yang langka bernilai lebih tinggi.
+     */
+    public double score() {
+        if (matchInfo == null) return 0;
+        // matchinfo berupa array unsigned int 32-bit dengan byte order mesin
+        IntBuffer ints = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phraseCount = ints.get(0);
+        int columnCount = ints.get(1);
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = 2 + (phrase * columnCount + column) * 3;
+                int hitsInRow = ints.get(base);
+                int hitsInTable = ints.get(base + 1);
+                if (hitsInRow > 0 && hitsInTable > 0) {
+                    double weight = column == JournalSearchEntry.COLUMN_TITLE ? TITLE_WEIGHT : REVIEW_WEIGHT;
+                    score += weight * hitsInRow / hitsInTable;
+                }
+            }
+        }
+        return score;
+    }
+}
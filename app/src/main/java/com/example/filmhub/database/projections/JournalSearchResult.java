@@ -0,0 +1,37 @@
+package com.example.filmhub.database.projections;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Ignore;
+
+import com.example.filmhub.database.entities.JournalSearchEntry;
+
+/**
+ * Hasil pencarian jurnal yang ditampilkan: judul dan potongan teks (snippet) di sekitar kata yang cocok.
+ * Kata yang cocok di snippet diapit HIGHLIGHT_START dan HIGHLIGHT_END.
+ */
+public class JournalSearchResult {
+    // Karakter kontrol sebagai penanda, agar teks ulasan tidak perlu di-escape seperti HTML
+    public static final String HIGHLIGHT_START = "\u0002";
+    public static final String HIGHLIGHT_END = "\u0003";
+
+    @ColumnInfo(name = "rowid")
+    public long rowId;
+
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "snippet")
+    public String snippet;
+
+    // Diisi dari JournalSearchMatch saat pemeringkatan
+    @Ignore
+    public double score;
+
+    public int getMovieId() {
+        return JournalSearchEntry.movieIdOf(rowId);
+    }
+
+    public boolean isFavorite() {
+        return JournalSearchEntry.isFavoriteRow(rowId);
+    }
+}
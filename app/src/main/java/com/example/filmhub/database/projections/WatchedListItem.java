@@ -0,0 +1,27 @@
+package com.example.filmhub.database.projections;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Proyeksi ringan untuk daftar jurnal tontonan. Ulasan hanya diambil potongan awalnya
+ * (kolom review_snippet), karena daftar paling banyak menampilkan tiga baris teks.
+ */
+public class WatchedListItem {
+    // Panjang maksimum potongan ulasan yang diambil dari database
+    public static final int REVIEW_SNIPPET_LENGTH = 200;
+
+    @ColumnInfo(name = "movie_id")
+    public int movieId;
+
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "poster_path")
+    public String posterPath;
+
+    @ColumnInfo(name = "user_rating")
+    public float userRating;
+
+    @ColumnInfo(name = "review_snippet")
+    public String reviewSnippet;
+}
@@ -8,12 +8,16 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.Navigation;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.filmhub.R;
+import com.example.filmhub.adapters.JournalSearchAdapter;
 import com.example.filmhub.adapters.WatchedListAdapter;
+import com.example.filmhub.database.projections.JournalSearchResult;
 import com.example.filmhub.viewmodel.AnalyticsViewModel;
 import java.util.Locale;
 import java.util.ArrayList;
@@ -30,6 +34,13 @@ public class AnalyticsFragment extends Fragment implements WatchedListAdapter.On
     // REVISI: Deklarasi TextView untuk Top 3 Genre
     private TextView tvTopGenre1, tvTopGenre2, tvTopGenre3;
 
+    // Pencarian jurnal (full-text); saat aktif, hasilnya menggantikan daftar riwayat
+    private SearchView searchViewJournal;
+    private RecyclerView recyclerViewSearch;
+    private JournalSearchAdapter journalSearchAdapter;
+    private boolean journalEmpty = true;
+    private List<JournalSearchResult> searchResults; // null = tidak sedang mencari
+
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
@@ -42,6 +53,7 @@ public class AnalyticsFragment extends Fragment implements WatchedListAdapter.On
         initViews(view);
         initViewModel();
         setupRecyclerView();
+        setupSearch();
         observeViewModel();
     }
 
@@ -51,6 +63,8 @@ public class AnalyticsFragment extends Fragment implements WatchedListAdapter.On
         tvAverageRating = view.findViewById(R.id.tv_average_rating);
         tvEmptyMessage = view.findViewById(R.id.tv_empty_watched);
         recyclerViewWatched = view.findViewById(R.id.recycler_view_watched);
+        recyclerViewSearch = view.findViewById(R.id.recycler_view_search);
+        searchViewJournal = view.findViewById(R.id.search_view_journal);
 
         // REVISI: Inisialisasi TextView untuk Top 3 Genre
         tvTopGenre1 = view.findViewById(R.id.tv_top_genre_1);
@@ -64,43 +78,75 @@ public class AnalyticsFragment extends Fragment implements WatchedListAdapter.On
 
     private void setupRecyclerView() {
         watchedListAdapter = new WatchedListAdapter(this);
-        recyclerViewWatched.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerViewWatched.setLayoutManager(layoutManager);
         recyclerViewWatched.setAdapter(watchedListAdapter);
+
+        // Muat chunk jurnal di sekitar posisi scroll
+        recyclerViewWatched.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                analyticsViewModel.onViewportChanged(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
     }
 
-    private void observeViewModel() {
-        analyticsViewModel.getAllWatchedMovies().observe(getViewLifecycleOwner(), watchedMovies -> {
-            if (watchedMovies != null && !watchedMovies.isEmpty()) {
-                // Tampilkan data dan RecyclerView
-                tvEmptyMessage.setVisibility(View.GONE);
-                recyclerViewWatched.setVisibility(View.VISIBLE);
-
-                // Update statistik
-                tvTotalMovies.setText(String.valueOf(watchedMovies.size()));
-                tvTotalDuration.setText(analyticsViewModel.getTotalDurationFormatted(watchedMovies));
-                String avgRatingText = String.format(Locale.getDefault(), "%.1f", analyticsViewModel.getAverageRating(watchedMovies));
-                tvAverageRating.setText(avgRatingText);
+    private void setupSearch() {
+        journalSearchAdapter = new JournalSearchAdapter(this::openDetail);
+        recyclerViewSearch.setLayoutManager(new LinearLayoutManager(getContext()));
+        recyclerViewSearch.setAdapter(journalSearchAdapter);
+
+        // Pencarian berjalan sambil mengetik (dengan debounce di ViewModel)
+        searchViewJournal.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchViewJournal.clearFocus();
+                return true;
+            }
 
-                // REVISI: Panggil metode untuk menghitung dan menampilkan Top 3 Genre
-                List<String> topGenres = analyticsViewModel.getTopGenres(watchedMovies);
-                updateTopGenresUi(topGenres);
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                analyticsViewModel.onSearchQueryChanged(newText);
+                return true;
+            }
+        });
+    }
 
+    private void observeViewModel() {
+        analyticsViewModel.getWatchedMovies().observe(getViewLifecycleOwner(), watchedMovies -> {
+            journalEmpty = watchedMovies == null || watchedMovies.isEmpty();
+            if (!journalEmpty) {
                 // Update adapter
                 watchedListAdapter.setWatchedMovieList(watchedMovies);
+            }
+            updateListVisibility();
+        });
 
-            } else {
-                // Tampilkan pesan kosong
-                tvEmptyMessage.setVisibility(View.VISIBLE);
-                recyclerViewWatched.setVisibility(View.GONE);
+        analyticsViewModel.getSearchResults().observe(getViewLifecycleOwner(), results -> {
+            searchResults = results;
+            journalSearchAdapter.setResults(results);
+            updateListVisibility();
+        });
 
+        // Header statistik dibaca dari agregat yang dipelihara database (satu baris)
+        analyticsViewModel.getWatchStats().observe(getViewLifecycleOwner(), stats -> {
+            if (stats != null && stats.movieCount > 0) {
+                tvTotalMovies.setText(String.valueOf(stats.movieCount));
+                tvTotalDuration.setText(analyticsViewModel.getTotalDurationFormatted(stats));
+                String avgRatingText = String.format(Locale.getDefault(), "%.1f", analyticsViewModel.getAverageRating(stats));
+                tvAverageRating.setText(avgRatingText);
+            } else {
                 // Reset statistik
                 tvTotalMovies.setText("0");
                 tvTotalDuration.setText("0 menit");
                 tvAverageRating.setText("-");
-                // REVISI: Reset juga tampilan genre
-                updateTopGenresUi(new ArrayList<>()); // Kirim list kosong untuk mereset
             }
         });
+
+        // Top 3 genre diobservasi terpisah, hasilnya sudah diagregasi oleh database
+        analyticsViewModel.getTopGenres().observe(getViewLifecycleOwner(), topGenres ->
+                updateTopGenresUi(topGenres != null ? topGenres : new ArrayList<>()));
     }
 
     /**
@@ -113,6 +159,24 @@ public class AnalyticsFragment extends Fragment implements WatchedListAdapter.On
         tvTopGenre3.setText(topGenres.size() > 2 ? "3. " + topGenres.get(2) : "3. -");
     }
 
+    // Menampilkan daftar riwayat, hasil pencarian, atau pesan kosong yang sesuai
+    private void updateListVisibility() {
+        boolean searching = searchResults != null;
+        boolean empty = searching ? searchResults.isEmpty() : journalEmpty;
+        recyclerViewWatched.setVisibility(!searching && !empty ? View.VISIBLE : View.GONE);
+        recyclerViewSearch.setVisibility(searching && !empty ? View.VISIBLE : View.GONE);
+        tvEmptyMessage.setVisibility(empty ? View.VISIBLE : View.GONE);
+        tvEmptyMessage.setText(searching ? "Tidak ada catatan yang cocok" : "Anda belum memiliki riwayat tontonan");
+    }
+
+    private void openDetail(int movieId) {
+        Bundle bundle = new Bundle();
+        bundle.putInt("movieId", movieId);
+        if (getView() != null) {
+            Navigation.findNavController(getView()).navigate(R.id.action_analyticsFragment_to_detailActivity, bundle);
+        }
+    }
+
     // Metode callback dari interface untuk menghapus item
     @Override
     public void onDeleteClicked(int movieId) {
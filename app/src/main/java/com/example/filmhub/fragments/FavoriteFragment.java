@@ -15,14 +15,10 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.filmhub.R;
+import com.example.filmhub.adapters.FavoriteListAdapter;
 import com.example.filmhub.adapters.MovieListAdapter;
-import com.example.filmhub.database.entities.FavoriteMovie;
-import com.example.filmhub.data.model.Movie;
 import com.example.filmhub.viewmodel.FavoriteViewModel;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Fragment untuk menampilkan daftar film favorit dari database lokal (Room).
  * Berfungsi penuh secara offline.
@@ -31,7 +27,7 @@ public class FavoriteFragment extends Fragment implements MovieListAdapter.OnMov
 
     private FavoriteViewModel favoriteViewModel;
     private RecyclerView recyclerViewFavorites;
-    private MovieListAdapter movieListAdapter;
+    private FavoriteListAdapter favoriteListAdapter;
     private TextView tvEmptyMessage;
 
     public FavoriteFragment() {
@@ -65,22 +61,31 @@ public class FavoriteFragment extends Fragment implements MovieListAdapter.OnMov
     }
 
     private void setupRecyclerView() {
-        // Kita menggunakan ulang MovieListAdapter yang sudah ada
-        movieListAdapter = new MovieListAdapter(this);
-        recyclerViewFavorites.setLayoutManager(new GridLayoutManager(getContext(), 2));
-        recyclerViewFavorites.setAdapter(movieListAdapter);
+        // Adapter khusus favorit yang membind proyeksi Room secara langsung
+        favoriteListAdapter = new FavoriteListAdapter(this);
+        GridLayoutManager layoutManager = new GridLayoutManager(getContext(), 2);
+        recyclerViewFavorites.setLayoutManager(layoutManager);
+        recyclerViewFavorites.setAdapter(favoriteListAdapter);
+
+        // Muat chunk favorit di sekitar posisi scroll
+        recyclerViewFavorites.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                favoriteViewModel.onViewportChanged(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
     }
 
     private void observeViewModel() {
-        favoriteViewModel.getAllFavoriteMovies().observe(getViewLifecycleOwner(), favoriteMovies -> {
+        favoriteViewModel.getFavoriteMovies().observe(getViewLifecycleOwner(), favoriteMovies -> {
             if (favoriteMovies != null && !favoriteMovies.isEmpty()) {
                 // Jika daftar favorit tidak kosong, tampilkan RecyclerView
                 recyclerViewFavorites.setVisibility(View.VISIBLE);
                 tvEmptyMessage.setVisibility(View.GONE);
 
-                // Konversi List<FavoriteMovie> menjadi List<Movie> agar bisa dipakai oleh adapter
-                List<Movie> movies = convertFavoriteToMovie(favoriteMovies);
-                movieListAdapter.setMovieList(movies);
+                // Posisi yang belum dimuat berisi null (placeholder)
+                favoriteListAdapter.setFavoriteList(favoriteMovies);
             } else {
                 // Jika daftar favorit kosong, tampilkan pesan
                 recyclerViewFavorites.setVisibility(View.GONE);
@@ -89,23 +94,6 @@ public class FavoriteFragment extends Fragment implements MovieListAdapter.OnMov
         });
     }
 
-    /**
-     * Metode helper untuk mengubah list objek FavoriteMovie menjadi list objek Movie.
-     * Ini diperlukan agar kita bisa menggunakan ulang MovieListAdapter.
-     */
-    private List<Movie> convertFavoriteToMovie(List<FavoriteMovie> favoriteList) {
-        List<Movie> movieList = new ArrayList<>();
-        for (FavoriteMovie favMovie : favoriteList) {
-            Movie movie = new Movie(); // Buat objek Movie baru
-            movie.setId(favMovie.movieId);
-            movie.setTitle(favMovie.title);
-            movie.setPosterPath(favMovie.posterPath);
-            // Set properti lain jika ada dan dibutuhkan oleh adapter
-            movieList.add(movie);
-        }
-        return movieList;
-    }
-
     // Callback saat item film diklik (dari implementasi interface)
     @Override
     public void onMovieClick(int movieId) {
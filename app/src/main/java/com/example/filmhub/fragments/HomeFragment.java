@@ -18,15 +18,23 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.widget.SearchView;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.ConcatAdapter;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
+import com.bumptech.glide.Glide;
+import com.example.filmhub.activities.DetailActivity;
+import com.example.filmhub.adapters.HomeRailAdapter;
 import com.example.filmhub.adapters.MovieListAdapter;
+import com.example.filmhub.adapters.PosterPreloader;
 import com.example.filmhub.data.model.Genre;
+import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.utils.GenreFilter;
 import com.example.filmhub.viewmodel.HomeViewModel;
 import com.example.filmhub.R;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -39,8 +47,14 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
     // REVISI: Deklarasi variabel disatukan dan disederhanakan
     private RecyclerView recyclerViewMovies;
     private MovieListAdapter movieAdapter;
+    private HomeRailAdapter railAdapter; // Rail horizontal di atas grid, dalam RecyclerView yang sama
     private HomeViewModel homeViewModel;
     private GridLayoutManager gridLayoutManager;
+    private PosterPreloader posterPreloader;
+    private ChipGroup.OnCheckedStateChangeListener chipListener;
+
+    // Jumlah baris grid di depan viewport yang posternya di-preload
+    private static final int POSTER_PRELOAD_ROWS = 3;
 
     // UI untuk kontrol
     private SearchView searchView;
@@ -65,8 +79,10 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
         setupRecyclerView();
         setupSortSpinner();
         initViewModel(); // ViewModel diinisialisasi terakhir sebelum observasi
+        restoreControls(); // Kontrol diisi dari ViewModel sebelum listener terpasang
         setupListeners(); // Listener disetup sebelum ViewModel diobservasi
-
+        // Feed disimpan di ViewModel; hanya dimuat ulang jika sudah basi
+        homeViewModel.refreshIfStale();
     }
 
     private void initViews(View view) {
@@ -83,16 +99,52 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
 
     private void initViewModel() {
         homeViewModel = new ViewModelProvider(this).get(HomeViewModel.class);
-        // Langsung observasi dan muat data awal
+        // Data awal dimuat oleh ViewModel saat pertama dibuat. Saat view dibuat ulang (rotasi,
+        // kembali dari tab lain) feed yang sudah ada langsung ditampilkan tanpa request baru.
         observeViewModel();
-        homeViewModel.refreshData(); // Memanggil data awal (populer)
+    }
+
+    // Menyamakan Spinner dan SearchView dengan sesi aktif di ViewModel
+    private void restoreControls() {
+        spinnerSort.setSelection(getPositionFromSortParameter(homeViewModel.getSortBy()), false);
+        String query = homeViewModel.getQuery();
+        if (!query.isEmpty()) {
+            searchView.setQuery(query, false);
+        }
     }
 
     private void setupRecyclerView() {
         movieAdapter = new MovieListAdapter(this);
+        // Posisi scroll dipulihkan RecyclerView begitu daftar terisi, bukan saat adapter masih kosong
+        movieAdapter.setStateRestorationPolicy(RecyclerView.Adapter.StateRestorationPolicy.PREVENT_WHEN_EMPTY);
+        railAdapter = new HomeRailAdapter(this);
         gridLayoutManager = new GridLayoutManager(getContext(), 2);
+        // Rail memakai satu baris penuh, film grid satu kolom
+        gridLayoutManager.setSpanSizeLookup(new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                return position < railAdapter.getItemCount() ? gridLayoutManager.getSpanCount() : 1;
+            }
+        });
         recyclerViewMovies.setLayoutManager(gridLayoutManager);
-        recyclerViewMovies.setAdapter(movieAdapter);
+        ConcatAdapter.Config config = new ConcatAdapter.Config.Builder()
+                .setStableIdMode(ConcatAdapter.Config.StableIdMode.ISOLATED_STABLE_IDS)
+                .build();
+        recyclerViewMovies.setAdapter(new ConcatAdapter(config, railAdapter, movieAdapter));
+
+        // Preload poster beberapa baris di depan arah scroll
+        posterPreloader = new PosterPreloader(Glide.with(this), movieAdapter, gridLayoutManager, POSTER_PRELOAD_ROWS);
+        posterPreloader.setLeadingItemCount(railAdapter::getItemCount);
+        movieAdapter.setPosterPreloader(posterPreloader);
+        recyclerViewMovies.addOnScrollListener(posterPreloader);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        if (posterPreloader != null) {
+            posterPreloader.cancelAll();
+        }
     }
 
     private void setupSortSpinner() {
@@ -108,25 +160,24 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
             @Override
             public boolean onQueryTextSubmit(String query) {
                 if (query != null && !query.isEmpty()) {
-                    showLayout(progressBar);
-                    homeViewModel.applySearch(query);
+                    if (homeViewModel.applySearch(query)) {
+                        showLayout(progressBar);
+                    }
                     searchView.clearFocus();
                 }
                 return true;
             }
             @Override
             public boolean onQueryTextChange(String newText) {
-                // Jika teks pencarian kosong, reset ke daftar default
-                if (newText.isEmpty() && !searchView.isIconified()) {
-                    showLayout(progressBar);
-                    homeViewModel.refreshData();
-                }
+                // Pencarian di-debounce di ViewModel; teks kosong mengembalikan daftar default.
+                // Hasil lama tetap tampil sampai hasil query baru datang.
+                homeViewModel.onSearchQueryChanged(newText);
                 return true;
             }
         });
 
         // Listener untuk ChipGroup dan Spinner sekarang digabung ke satu metode
-        ChipGroup.OnCheckedStateChangeListener chipListener = (group, checkedIds) -> applyFilters();
+        chipListener = (group, checkedIds) -> applyFilters();
         chipGroupGenres.setOnCheckedStateChangeListener(chipListener);
 
         spinnerSort.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
@@ -148,34 +199,43 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
             @Override
             public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
-                int visibleItemCount = gridLayoutManager.getChildCount();
-                int totalItemCount = gridLayoutManager.getItemCount();
-                int firstVisibleItemPosition = gridLayoutManager.findFirstVisibleItemPosition();
-                if ((visibleItemCount + firstVisibleItemPosition) >= totalItemCount && firstVisibleItemPosition >= 0) {
-                    homeViewModel.loadMoreMovies();
-                }
+                // Posisi layout diterjemahkan ke posisi grid film (rail ada di atasnya)
+                int railCount = railAdapter.getItemCount();
+                int lastVisibleItemPosition = gridLayoutManager.findLastVisibleItemPosition() - railCount;
+                if (lastVisibleItemPosition < 0) return; // Baru rail yang terlihat
+                int firstVisibleItemPosition = Math.max(0, gridLayoutManager.findFirstVisibleItemPosition() - railCount);
+                // ViewModel menggeser jendela halaman dan memutuskan kapan halaman berikutnya
+                // di-prefetch, sebelum pengguna benar-benar sampai di item terakhir
+                homeViewModel.onViewportChanged(firstVisibleItemPosition, lastVisibleItemPosition);
             }
         });
     }
 
     // Metode helper untuk menerapkan filter dan sortir
     private void applyFilters() {
-        showLayout(progressBar);
         String sortBy = getSortParameterFromPosition(spinnerSort.getSelectedItemPosition());
-        StringBuilder selectedGenreIds = new StringBuilder();
+        List<Object> checkedGenreIds = new ArrayList<>();
         for (Integer id : chipGroupGenres.getCheckedChipIds()) {
             Chip chip = chipGroupGenres.findViewById(id);
             if (chip != null) {
-                if (selectedGenreIds.length() > 0) {
-                    selectedGenreIds.append(",");
-                }
-                selectedGenreIds.append(chip.getTag().toString());
+                checkedGenreIds.add(chip.getTag());
             }
         }
-        homeViewModel.applyFilters(sortBy, selectedGenreIds.toString());
+        // Sebelum chip genre dimuat, genre yang dipulihkan ViewModel tetap dipakai
+        String genreIds = GenreFilter.resolve(chipGroupGenres.getChildCount() > 0, checkedGenreIds,
+                homeViewModel.getGenreIds());
+        // Spinner juga memanggil onItemSelected saat layar dibuat ulang; filter yang sama tidak memuat ulang
+        if (homeViewModel.applyFilters(sortBy, genreIds)) {
+            showLayout(progressBar);
+        }
     }
 
     private void observeViewModel() {
+        // Badge favorit/tontonan mengikuti indeks di memori, bukan query per sel
+        movieAdapter.setMembershipIndex(homeViewModel.getMembershipIndex());
+        homeViewModel.getMembershipIndex().getVersion().observe(getViewLifecycleOwner(),
+                version -> movieAdapter.onMembershipChanged());
+
         homeViewModel.getMovieList().observe(getViewLifecycleOwner(), movies -> {
             if (movies != null) {
                 if (movies.isEmpty()) {
@@ -183,13 +243,22 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
                     tvMessage.setText("Film tidak ditemukan.");
                 } else {
                     showLayout(recyclerViewMovies);
-                    movieAdapter.setMovieList(movies);
+                    movieAdapter.setMovieList(movies, () -> {
+                        // Setelah proses aplikasi dimatikan sistem, kembali ke posisi scroll terakhir
+                        int anchor = homeViewModel.consumeScrollAnchor(movieAdapter.getItemCount());
+                        if (anchor >= 0) {
+                            gridLayoutManager.scrollToPositionWithOffset(anchor + railAdapter.getItemCount(), 0);
+                        }
+                    });
                 }
             } else {
                 showLayout(errorLayoutConnection);
             }
         });
 
+        // Setiap rail tampil begitu datanya sendiri tiba
+        homeViewModel.getRails().observe(getViewLifecycleOwner(), rails -> railAdapter.setRails(rails));
+
         homeViewModel.getGenresLiveData().observe(getViewLifecycleOwner(), genreResponse -> {
             if (genreResponse != null && genreResponse.getGenres() != null) {
                 displayGenresAsChips(genreResponse.getGenres());
@@ -215,6 +284,9 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
     }
 
     private void displayGenresAsChips(List<Genre> genres) {
+        // Genre yang sedang difilter dicentang ulang tanpa memicu applyFilters
+        List<String> selectedGenreIds = Arrays.asList(homeViewModel.getGenreIds().split(","));
+        chipGroupGenres.setOnCheckedStateChangeListener(null);
         chipGroupGenres.removeAllViews();
         for (Genre genre : genres) {
             Chip chip = new Chip(getContext());
@@ -223,7 +295,11 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
             chip.setTag(genre.getId());
             chip.setId(View.generateViewId());
             chipGroupGenres.addView(chip);
+            if (selectedGenreIds.contains(String.valueOf(genre.getId()))) {
+                chipGroupGenres.check(chip.getId());
+            }
         }
+        chipGroupGenres.setOnCheckedStateChangeListener(chipListener);
     }
 
     private String getSortParameterFromPosition(int position) {
@@ -238,14 +314,34 @@ public class HomeFragment extends Fragment implements MovieListAdapter.OnMovieIt
         }
     }
 
+    private int getPositionFromSortParameter(String sortBy) {
+        switch (sortBy) {
+            case "vote_average.desc":
+                return 1;
+            case "release_date.desc":
+                return 2;
+            default:
+                return 0;
+        }
+    }
+
     @Override
     public void onMovieClick(int movieId) {
         Bundle bundle = new Bundle();
-        bundle.putInt("movieId", movieId); // "movieId" harus sama dengan nama argumen di nav_graph
+        bundle.putInt(DetailActivity.EXTRA_MOVIE_ID, movieId); // Harus sama dengan nama argumen di nav_graph
+        navigateToDetail(bundle);
+    }
+
+    // Grid dan rail mengirim film yang sedang tampil: detail langsung menampilkan header-nya
+    @Override
+    public void onMovieClick(Movie movie, int posterWidthPx, int posterHeightPx) {
+        navigateToDetail(DetailActivity.snapshotArgs(movie, posterWidthPx, posterHeightPx));
+    }
 
+    private void navigateToDetail(Bundle args) {
         // Gunakan NavController untuk navigasi ke DetailActivity
         if (getView() != null) {
-            Navigation.findNavController(getView()).navigate(R.id.action_homeFragment_to_detailActivity, bundle);
+            Navigation.findNavController(getView()).navigate(R.id.action_homeFragment_to_detailActivity, args);
         }
     }
 }
@@ -3,14 +3,18 @@ package com.example.filmhub.networking.api;
 import com.example.filmhub.data.model.GenreResponse;
 import com.example.filmhub.data.model.MovieDetailResponse;
 import com.example.filmhub.data.model.MovieResponse;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 public interface ApiService {
 
     // Endpoint untuk discover, bisa untuk populer, filter genre, dan sortir
+    // Urutan popularitas cepat berubah, jadi halaman discover hanya segar beberapa menit
+    @CachePolicy(maxAgeSeconds = 10 * CachePolicy.MINUTE, staleWhileRevalidateSeconds = CachePolicy.HOUR)
     @GET("discover/movie")
     Call<MovieResponse> getDiscoverMovies(
             @Query("api_key") String apiKey,
@@ -20,6 +24,7 @@ public interface ApiService {
     );
 
     // Endpoint untuk pencarian film
+    @CachePolicy(maxAgeSeconds = 10 * CachePolicy.MINUTE, staleWhileRevalidateSeconds = CachePolicy.HOUR)
     @GET("search/movie")
     Call<MovieResponse> searchMovies(
             @Query("api_key") String apiKey,
@@ -28,15 +33,31 @@ public interface ApiService {
     );
 
     // Endpoint untuk mendapatkan daftar semua genre
+    // Daftar genre TMDb hampir tidak pernah berubah
+    @CachePolicy(maxAgeSeconds = 7 * CachePolicy.DAY, staleWhileRevalidateSeconds = 30 * CachePolicy.DAY)
     @GET("genre/movie/list")
     Call<GenreResponse> getGenres(
             @Query("api_key") String apiKey
     );
 
     // Endpoint untuk mendapatkan detail lengkap satu film
+    @CachePolicy(maxAgeSeconds = 6 * CachePolicy.HOUR, staleWhileRevalidateSeconds = 7 * CachePolicy.DAY)
     @GET("movie/{movie_id}")
     Call<MovieDetailResponse> getMovieDetails(
             @Path("movie_id") int movieId,
             @Query("api_key") String apiKey
     );
+
+    // Detail film beserta sub-resource (credits, videos, images, similar) dalam satu round trip.
+    // Body tidak di-buffer oleh Retrofit (@Streaming) agar bisa di-decode sambil diunduh,
+    // lihat MovieDetailStreamParser.
+    @CachePolicy(maxAgeSeconds = 6 * CachePolicy.HOUR, staleWhileRevalidateSeconds = 7 * CachePolicy.DAY)
+    @Streaming
+    @GET("movie/{movie_id}")
+    Call<ResponseBody> getRichMovieDetails(
+            @Path("movie_id") int movieId,
+            @Query("api_key") String apiKey,
+            @Query("append_to_response") String appendToResponse,
+            @Query("include_image_language") String imageLanguages // Tanpa ini backdrop tanpa teks tidak ikut
+    );
 }
@@ -0,0 +1,31 @@
+package com.example.filmhub.networking.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotasi untuk mendeklarasikan kebijakan cache HTTP langsung di metode ApiService.
+ * Dibaca oleh interceptor di RetrofitClient melalui tag Invocation milik Retrofit.
+ * Semua nilai dalam satuan detik.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachePolicy {
+
+    int MINUTE = 60;
+    int HOUR = 60 * MINUTE;
+    int DAY = 24 * HOUR;
+
+    // Selama umur ini respons dianggap segar dan dilayani langsung dari cache tanpa jaringan
+    int maxAgeSeconds();
+
+    // Setelah basi, respons masih boleh ditampilkan selama jendela ini sambil diperbarui di background
+    int staleWhileRevalidateSeconds() default 0;
+
+    // Jika jaringan gagal, respons basi masih boleh dipakai sampai batas ini
+    int staleIfErrorSeconds() default 7 * DAY;
+}
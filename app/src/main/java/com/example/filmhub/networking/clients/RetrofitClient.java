@@ -1,7 +1,14 @@
 package com.example.filmhub.networking.clients;
 
+import android.content.Context;
+
 import com.example.filmhub.BuildConfig;
+import com.example.filmhub.networking.interceptors.CacheControlRewriteInterceptor;
+import com.example.filmhub.networking.interceptors.OfflineCacheInterceptor;
+
+import java.io.File;
 
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
@@ -16,6 +23,10 @@ public class RetrofitClient {
     // Base URL dari TMDb API
     private static final String BASE_URL = "https://api.themoviedb.org/3/";
 
+    // Konfigurasi cache HTTP di disk. TTL per endpoint dideklarasikan lewat @CachePolicy di ApiService,
+    // ukurannya lewat BuildConfig.HTTP_CACHE_SIZE_BYTES (lihat build.gradle.kts).
+    private static final String HTTP_CACHE_DIR = "http_cache";
+
     // Instance Retrofit yang akan kita gunakan (awalnya null)
     private static Retrofit retrofit = null;
 
@@ -24,9 +35,10 @@ public class RetrofitClient {
      * Jika instance belum ada, metode ini akan membuatnya.
      * Jika sudah ada, metode ini akan mengembalikan instance yang sama.
      *
+     * @param context Context untuk menentukan lokasi direktori cache HTTP.
      * @return instance Retrofit
      */
-    public static Retrofit getRetrofitInstance() {
+    public static synchronized Retrofit getRetrofitInstance(Context context) {
         if (retrofit == null) {
             // 1. Membuat Logging Interceptor untuk debugging
             // Ini akan mencetak request dan response body ke Logcat
@@ -40,14 +52,24 @@ public class RetrofitClient {
                 httpClient.addInterceptor(loggingInterceptor);
             }
 
-            // 3. Membuat instance Retrofit dengan Builder
+            // 3. Memasang cache HTTP di disk beserta interceptor offline-first
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), HTTP_CACHE_DIR);
+            OfflineCacheInterceptor offlineCacheInterceptor = new OfflineCacheInterceptor();
+            httpClient.cache(new Cache(cacheDir, BuildConfig.HTTP_CACHE_SIZE_BYTES))
+                    .addInterceptor(offlineCacheInterceptor)
+                    .addNetworkInterceptor(new CacheControlRewriteInterceptor());
+            OkHttpClient okHttpClient = httpClient.build();
+            // Revalidasi background memakai client yang sama agar hasilnya tersimpan ke cache yang sama
+            offlineCacheInterceptor.attachClient(okHttpClient);
+
+            // 4. Membuat instance Retrofit dengan Builder
             retrofit = new Retrofit.Builder()
                     // Menetapkan URL dasar untuk semua panggilan API
                     .baseUrl(BASE_URL)
                     // Menambahkan converter factory untuk mengubah JSON menjadi objek Java (POJO)
                     .addConverterFactory(GsonConverterFactory.create())
                     // Menggunakan OkHttpClient yang sudah dikonfigurasi
-                    .client(httpClient.build())
+                    .client(okHttpClient)
                     // Membangun objek Retrofit
                     .build();
         }
@@ -0,0 +1,35 @@
+package com.example.filmhub.networking.interceptors;
+
+import androidx.annotation.NonNull;
+
+import com.example.filmhub.networking.api.CachePolicy;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor yang menimpa header Cache-Control dari TMDb dengan TTL yang dideklarasikan
+ * lewat {@link CachePolicy}. Karena berjalan sebelum respons disimpan ke Cache OkHttp,
+ * umur entri cache di disk mengikuti TTL per endpoint milik aplikasi, bukan milik server.
+ */
+public class CacheControlRewriteInterceptor implements Interceptor {
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        CachePolicy policy = OfflineCacheInterceptor.policyOf(request);
+        if (policy == null || !response.isSuccessful()) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "public, max-age=" + policy.maxAgeSeconds())
+                .build();
+    }
+}
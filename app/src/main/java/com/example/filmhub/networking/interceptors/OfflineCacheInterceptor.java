@@ -0,0 +1,147 @@
+package com.example.filmhub.networking.interceptors;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.filmhub.networking.api.CachePolicy;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
+
+/**
+ * Interceptor aplikasi (bukan network interceptor) yang menerapkan strategi offline-first
+ * berdasarkan anotasi {@link CachePolicy} pada metode ApiService:
+ * 1. Respons di cache yang masih segar langsung dikembalikan tanpa menyentuh jaringan.
+ * 2. Respons yang sudah basi tapi masih dalam jendela stale-while-revalidate tetap dikembalikan,
+ *    lalu versi terbarunya diambil di background agar pemanggilan berikutnya segar.
+ * 3. Jika tidak ada cache yang bisa dipakai, request dikirim ke jaringan. Jika jaringan gagal,
+ *    respons basi dalam jendela stale-if-error dipakai sebagai fallback.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+
+    // Header penanda request revalidasi background, dihapus sebelum request dikirim
+    private static final String HEADER_REVALIDATE = "X-FilmHub-Revalidate";
+
+    // Respons sintetis OkHttp ketika only-if-cached tidak bisa dipenuhi
+    private static final int CODE_UNSATISFIABLE = 504;
+
+    // URL yang sedang direvalidasi, agar satu URL tidak direvalidasi berkali-kali bersamaan
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    // Client yang dipakai untuk revalidasi. Diisi setelah OkHttpClient selesai dibangun.
+    private volatile OkHttpClient client;
+
+    public void attachClient(OkHttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Membaca {@link CachePolicy} dari metode ApiService yang membuat request ini.
+     * @return null jika request tidak berasal dari metode yang dianotasi.
+     */
+    @Nullable
+    static CachePolicy policyOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return null;
+        }
+        return invocation.method().getAnnotation(CachePolicy.class);
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        CachePolicy policy = policyOf(request);
+        if (policy == null || !"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        // Request revalidasi dari background: selalu ke jaringan, hasilnya akan menimpa cache
+        if (request.header(HEADER_REVALIDATE) != null) {
+            return chain.proceed(request.newBuilder()
+                    .removeHeader(HEADER_REVALIDATE)
+                    .cacheControl(CacheControl.FORCE_NETWORK)
+                    .build());
+        }
+
+        // 1 & 2. Coba layani dari cache, termasuk yang basi dalam jendela stale-while-revalidate
+        Response cached = chain.proceed(onlyIfCached(request, policy.staleWhileRevalidateSeconds()));
+        if (cached.code() != CODE_UNSATISFIABLE) {
+            long ageMillis = System.currentTimeMillis() - cached.receivedResponseAtMillis();
+            if (ageMillis > TimeUnit.SECONDS.toMillis(policy.maxAgeSeconds())) {
+                scheduleRevalidation(request);
+            }
+            return cached;
+        }
+        cached.close();
+
+        // 3. Tidak ada cache yang layak, ambil dari jaringan
+        try {
+            return chain.proceed(request);
+        } catch (IOException networkError) {
+            if (chain.call().isCanceled()) {
+                throw networkError;
+            }
+            Response fallback;
+            try {
+                fallback = chain.proceed(onlyIfCached(request, policy.staleIfErrorSeconds()));
+            } catch (IOException ignored) {
+                throw networkError;
+            }
+            if (fallback.code() == CODE_UNSATISFIABLE) {
+                fallback.close();
+                throw networkError;
+            }
+            return fallback;
+        }
+    }
+
+    private static Request onlyIfCached(Request request, int maxStaleSeconds) {
+        return request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(maxStaleSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+    }
+
+    private void scheduleRevalidation(Request request) {
+        OkHttpClient revalidationClient = client;
+        String url = request.url().toString();
+        if (revalidationClient == null || !revalidating.add(url)) {
+            return;
+        }
+        Request revalidation = request.newBuilder().header(HEADER_REVALIDATE, "1").build();
+        revalidationClient.newCall(revalidation).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                revalidating.remove(url);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
+                // Body harus dibaca sampai habis agar OkHttp benar-benar menulis entri cache baru
+                try (ResponseBody body = response.body()) {
+                    if (body != null) {
+                        body.bytes();
+                    }
+                } finally {
+                    revalidating.remove(url);
+                }
+            }
+        });
+    }
+}
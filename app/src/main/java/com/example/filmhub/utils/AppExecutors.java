@@ -0,0 +1,207 @@
+package com.example.filmhub.utils;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Model eksekusi I/O database untuk seluruh aplikasi.
+ * - Writer: satu thread (semua tulis berurutan), antreannya berprioritas sehingga aksi pengguna
+ *   seperti toggle favorit didahulukan daripada tulis massal yang sudah mengantre.
+ * - Reader: pool terbatas untuk baca; dengan write-ahead logging pembaca tidak menunggu penulis.
+ * - Decoder: pool kecil untuk membaca dan men-decode body respons streaming dari jaringan,
+ *   terpisah dari reader agar unduhan yang lambat tidak menahan query database.
+ * - Backup: satu thread untuk ekspor/impor jurnal yang bisa berjalan lama, terpisah dari reader
+ *   (query executor Room) agar LiveData tetap diperbarui selama backup berjalan.
+ * Thread yang menganggur dihentikan otomatis. Tugas yang terlalu lama menunggu di antrean dicatat sebagai peringatan.
+ */
+public final class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+
+    /**
+     * Prioritas tulis. Urutan enum = urutan eksekusi; di dalam prioritas yang sama tetap FIFO.
+     */
+    public enum Priority {
+        INTERACTIVE, // Aksi langsung pengguna (favorit, catatan tontonan)
+        NORMAL,      // Tulis latar belakang biasa (cache katalog)
+        BULK,        // Tulis massal (impor, rebuild agregat)
+        FINAL        // Internal: tugas penutup saat shutdown, selalu paling akhir
+    }
+
+    private static final int READER_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int DECODER_THREADS = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    // Tugas yang menunggu lebih lama dari ini di antrean dicatat sebagai peringatan
+    private static final long SLOW_WAIT_WARN_MS = 250;
+
+    private static AppExecutors instance;
+
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolExecutor readers;
+    private final ThreadPoolExecutor decoders;
+    private final ThreadPoolExecutor backup;
+    private final LaneStats writerStats = new LaneStats("writer");
+    private final LaneStats readerStats = new LaneStats("reader");
+    private final LaneStats decoderStats = new LaneStats("decoder");
+    private final LaneStats backupStats = new LaneStats("backup");
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    private AppExecutors() {
+        writer = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), backgroundThreadFactory("filmhub-db-writer"),
+                discardAfterShutdown("Tulis"));
+        writer.allowCoreThreadTimeOut(true);
+        readers = new ThreadPoolExecutor(READER_THREADS, READER_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), backgroundThreadFactory("filmhub-db-reader"),
+                discardAfterShutdown("Baca"));
+        readers.allowCoreThreadTimeOut(true);
+        decoders = new ThreadPoolExecutor(DECODER_THREADS, DECODER_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), backgroundThreadFactory("filmhub-decoder"),
+                rejectAfterShutdown("Decode"));
+        decoders.allowCoreThreadTimeOut(true);
+        backup = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), backgroundThreadFactory("filmhub-backup"),
+                discardAfterShutdown("Backup"));
+        backup.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    /**
+     * Executor untuk baca database. Dipakai juga sebagai query executor Room (LiveData).
+     */
+    public Executor diskRead() {
+        return command -> readers.execute(readerStats.wrap(command));
+    }
+
+    /**
+     * Executor untuk membaca dan men-decode body respons jaringan yang di-stream.
+     * Setelah shutdown, execute() melempar RejectedExecutionException (bukan membuang tugas diam-diam).
+     */
+    public Executor networkDecode() {
+        return command -> decoders.execute(decoderStats.wrap(command));
+    }
+
+    /**
+     * Executor untuk ekspor/impor jurnal. Satu thread, jadi dua backup tidak pernah berjalan bersamaan.
+     */
+    public Executor backup() {
+        return command -> backup.execute(backupStats.wrap(command));
+    }
+
+    /**
+     * Executor tulis dengan prioritas NORMAL. Dipakai juga sebagai transaction executor Room.
+     */
+    public Executor diskWrite() {
+        return command -> diskWrite(Priority.NORMAL, command);
+    }
+
+    public void diskWrite(Priority priority, Runnable command) {
+        writer.execute(new PrioritizedTask(priority, writeSequence.getAndIncrement(), writerStats.wrap(command)));
+    }
+
+    /**
+     * Menghentikan executor dengan rapi: tulis yang sudah mengantre tetap diselesaikan,
+     * lalu onWriterDrained dijalankan di thread writer sebagai tugas terakhir.
+     * Setelah ini getInstance() membuat executor baru.
+     */
+    public void shutdown(Runnable onWriterDrained) {
+        synchronized (AppExecutors.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        diskWrite(Priority.FINAL, onWriterDrained);
+        writer.shutdown();
+        readers.shutdown();
+        decoders.shutdown();
+        backup.shutdown();
+    }
+
+    // Antrean tidak dibatasi, jadi penolakan hanya terjadi setelah shutdown. Tugasnya dibuang di sini
+    // (misal respons jaringan atau refresh invalidasi Room yang datang saat lane sedang dihentikan)
+    // alih-alih melempar RejectedExecutionException ke thread pemanggil.
+    private static RejectedExecutionHandler discardAfterShutdown(String action) {
+        return (task, executor) -> Log.w(TAG, action + " diabaikan, executor sudah dihentikan");
+    }
+
+    // Lane decoder menerima body respons yang masih terbuka. Penolakannya dilempar ke pemanggil
+    // (RequestCoalescer) agar body bisa ditutup dan penunggunya diberi hasil gagal.
+    private static RejectedExecutionHandler rejectAfterShutdown(String action) {
+        return (task, executor) -> {
+            throw new RejectedExecutionException(action + " ditolak, executor sudah dihentikan");
+        };
+    }
+
+    private static ThreadFactory backgroundThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, name + "-" + count.incrementAndGet());
+    }
+
+    // Tugas tulis yang diurutkan berdasarkan prioritas, lalu urutan masuk
+    private static class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+        final Priority priority;
+        final long sequence;
+        final Runnable command;
+
+        PrioritizedTask(Priority priority, long sequence, Runnable command) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        public int compareTo(@NonNull PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    // Mencatat tugas yang menunggu terlalu lama di antrean lane sebelum mulai berjalan
+    private static class LaneStats {
+        private final String name;
+
+        LaneStats(String name) {
+            this.name = name;
+        }
+
+        Runnable wrap(Runnable command) {
+            long enqueuedAt = SystemClock.uptimeMillis();
+            return () -> {
+                long waitMillis = SystemClock.uptimeMillis() - enqueuedAt;
+                if (waitMillis > SLOW_WAIT_WARN_MS) {
+                    Log.w(TAG, "Tugas " + name + " menunggu " + waitMillis + " ms di antrean");
+                }
+                command.run();
+            };
+        }
+    }
+}
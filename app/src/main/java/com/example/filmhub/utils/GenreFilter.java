@@ -0,0 +1,35 @@
+package com.example.filmhub.utils;
+
+import java.util.List;
+
+/**
+ * Menentukan filter genre Home (id dipisah koma, format parameter with_genres TMDb) dari chip genre.
+ * Selama chip belum dibuat (daftar genre masih dimuat, misal setelah proses aplikasi dimatikan sistem),
+ * filter yang sedang aktif dipertahankan. Tanpa ini, onItemSelected pertama dari spinner akan
+ * membaca "tanpa genre" dan mereset feed yang baru dipulihkan.
+ */
+public final class GenreFilter {
+
+    private GenreFilter() {
+    }
+
+    /**
+     * @param chipsShown      true jika chip genre sudah ditampilkan.
+     * @param checkedGenreIds id genre dari chip yang dicentang, sesuai urutan chip.
+     * @param currentGenreIds filter genre yang sedang aktif (dari ViewModel).
+     */
+    public static String resolve(boolean chipsShown, List<?> checkedGenreIds, String currentGenreIds) {
+        if (!chipsShown) {
+            return currentGenreIds != null ? currentGenreIds : "";
+        }
+        StringBuilder genreIds = new StringBuilder();
+        for (Object id : checkedGenreIds) {
+            if (id == null) continue;
+            if (genreIds.length() > 0) {
+                genreIds.append(",");
+            }
+            genreIds.append(id);
+        }
+        return genreIds.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.filmhub.utils;
+
+import java.util.Arrays;
+
+/**
+ * Himpunan int primitif dengan open addressing (linear probing), tanpa boxing ke Integer.
+ * contains() dan add() O(1) rata-rata dan tidak mengalokasikan objek; cocok untuk dipanggil
+ * berulang kali di jalur panas seperti onBindViewHolder.
+ * Tidak thread-safe: bangun di satu thread, lalu publikasikan sebagai snapshot yang tidak diubah lagi.
+ */
+public final class IntHashSet {
+
+    // Slot kosong ditandai 0; nilai 0 sendiri disimpan lewat flag terpisah
+    private static final int EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] slots;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize Perkiraan jumlah elemen, agar tabel tidak perlu diperbesar saat diisi.
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public boolean contains(int value) {
+        if (value == EMPTY) return containsZero;
+        int index = mix(value) & mask;
+        while (true) {
+            int slot = slots[index];
+            if (slot == value) return true;
+            if (slot == EMPTY) return false;
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * @return true jika nilai baru ditambahkan, false jika sudah ada sebelumnya.
+     */
+    public boolean add(int value) {
+        if (value == EMPTY) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = mix(value) & mask;
+        while (true) {
+            int slot = slots[index];
+            if (slot == value) return false;
+            if (slot == EMPTY) break;
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        size++;
+        // Load factor dijaga di bawah 0,5 agar rantai probing tetap pendek
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+        containsZero = false;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldSlots = slots;
+        allocate(newCapacity);
+        size = containsZero ? 1 : 0;
+        for (int value : oldSlots) {
+            if (value != EMPTY) {
+                add(value);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Menyebar bit agar id yang berurutan tidak menumpuk di slot yang berdekatan
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
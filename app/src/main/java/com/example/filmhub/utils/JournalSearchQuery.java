@@ -0,0 +1,67 @@
+package com.example.filmhub.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mengubah teks pencarian pengguna menjadi ekspresi MATCH FTS4 yang selalu valid.
+ * - Kata biasa menjadi pencarian awalan: "star wa" -> "star* wa*"
+ * - Teks dalam tanda kutip menjadi pencarian frasa: "\"sangat bagus\"" -> "\"sangat bagus\""
+ * Semua kata harus cocok (AND). Karakter selain huruf/angka dianggap pemisah, dan kata ditulis
+ * huruf kecil agar tidak terbaca sebagai operator FTS (AND, OR, NOT, NEAR).
+ */
+public final class JournalSearchQuery {
+
+    private JournalSearchQuery() {
+    }
+
+    /**
+     * @return Ekspresi MATCH, atau null jika teks tidak berisi kata yang bisa dicari.
+     */
+    public static String toMatchExpression(String text) {
+        if (text == null) return null;
+        List<String> terms = new ArrayList<>();
+        boolean inPhrase = false;
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            boolean end = i == text.length();
+            char c = end ? '"' : text.charAt(i);
+            if (c == '"') {
+                addTerms(terms, segment.toString(), inPhrase);
+                segment.setLength(0);
+                inPhrase = !inPhrase;
+            } else {
+                segment.append(c);
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+
+    private static void addTerms(List<String> terms, String segment, boolean phrase) {
+        List<String> words = words(segment);
+        if (words.isEmpty()) return;
+        if (phrase) {
+            terms.add("\"" + String.join(" ", words) + "\"");
+        } else {
+            for (String word : words) {
+                terms.add(word + "*");
+            }
+        }
+    }
+
+    private static List<String> words(String segment) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= segment.length(); i++) {
+            char c = i < segment.length() ? segment.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                words.add(word.toString().toLowerCase(Locale.ROOT));
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.filmhub.utils;
+
+import android.graphics.drawable.Drawable;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.request.RequestOptions;
+import com.example.filmhub.R;
+
+/**
+ * Helper untuk memuat poster TMDb dengan Glide.
+ * URL dipilih dari ukuran TMDb terkecil yang menutupi ukuran target, lalu gambar di-decode
+ * tepat ke ukuran target dalam format RGB_565 (2 byte per piksel, poster tidak butuh alpha).
+ * Semua tempat yang memuat poster sebaiknya memakai helper ini agar request untuk poster
+ * dan ukuran yang sama menghasilkan key cache Glide yang sama.
+ */
+public final class PosterImageLoader {
+
+    private PosterImageLoader() {
+    }
+
+    /**
+     * Membangun request Glide untuk poster dengan ukuran target tertentu.
+     * @return null jika film tidak memiliki poster.
+     */
+    public static RequestBuilder<Drawable> posterRequest(RequestManager requestManager, String posterPath,
+                                                         int targetWidthPx, int targetHeightPx) {
+        if (posterPath == null || posterPath.isEmpty()) {
+            return null;
+        }
+        String url = TmdbPosterSize.forWidth(targetWidthPx).url(posterPath);
+        return requestManager
+                .load(url)
+                .apply(posterOptions(targetWidthPx, targetHeightPx));
+    }
+
+    /**
+     * Memuat poster ke ImageView. Jika path kosong, gambar default ditampilkan.
+     */
+    public static void load(ImageView target, String posterPath, int targetWidthPx, int targetHeightPx) {
+        RequestManager requestManager = Glide.with(target);
+        RequestBuilder<Drawable> request = posterRequest(requestManager, posterPath, targetWidthPx, targetHeightPx);
+        if (request != null) {
+            request.into(target);
+        } else {
+            requestManager.clear(target);
+            target.setImageResource(R.drawable.ic_broken_image_placeholder);
+        }
+    }
+
+    /**
+     * Seperti {@link #load}, tetapi selama poster ukuran target dimuat, poster yang sama dalam ukuran
+     * daftar (thumbWidthPx x thumbHeightPx) diambil dari memory cache Glide sebagai thumbnail.
+     * Karena opsinya sama persis dengan yang dipakai daftar, key cache-nya cocok dan gambar sudah
+     * tampil di frame pertama. Thumbnail hanya dibaca dari cache, tidak pernah diunduh.
+     */
+    public static void loadWithCachedThumbnail(ImageView target, String posterPath, int targetWidthPx,
+                                               int targetHeightPx, int thumbWidthPx, int thumbHeightPx) {
+        RequestManager requestManager = Glide.with(target);
+        RequestBuilder<Drawable> request = posterRequest(requestManager, posterPath, targetWidthPx, targetHeightPx);
+        if (request == null) {
+            requestManager.clear(target);
+            target.setImageResource(R.drawable.ic_broken_image_placeholder);
+            return;
+        }
+        if (thumbWidthPx > 0 && thumbHeightPx > 0) {
+            RequestBuilder<Drawable> thumbnail = posterRequest(requestManager, posterPath, thumbWidthPx, thumbHeightPx);
+            request = request.thumbnail(thumbnail.onlyRetrieveFromCache(true));
+        }
+        request.into(target);
+    }
+
+    /**
+     * Lebar target poster di grid: lebar RecyclerView dibagi jumlah kolom. Jika parent belum
+     * di-layout, lebar layar dipakai sebagai perkiraan.
+     */
+    public static int gridPosterWidth(ViewGroup parent) {
+        int spanCount = 1;
+        if (parent instanceof RecyclerView
+                && ((RecyclerView) parent).getLayoutManager() instanceof GridLayoutManager) {
+            spanCount = ((GridLayoutManager) ((RecyclerView) parent).getLayoutManager()).getSpanCount();
+        }
+        int availableWidth = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        if (availableWidth <= 0) {
+            availableWidth = parent.getResources().getDisplayMetrics().widthPixels;
+        }
+        return availableWidth / spanCount;
+    }
+
+    private static RequestOptions posterOptions(int targetWidthPx, int targetHeightPx) {
+        return new RequestOptions()
+                .override(targetWidthPx, targetHeightPx)
+                .centerCrop()
+                .format(DecodeFormat.PREFER_RGB_565)
+                .placeholder(R.drawable.ic_image_placeholder)
+                .error(R.drawable.ic_broken_image_placeholder);
+    }
+}
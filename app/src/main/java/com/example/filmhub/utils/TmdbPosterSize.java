@@ -0,0 +1,50 @@
+package com.example.filmhub.utils;
+
+/**
+ * Ukuran poster yang disediakan server gambar TMDb.
+ * Dipakai untuk memilih ukuran terkecil yang masih menutupi ukuran view dalam piksel,
+ * agar sel grid atau thumbnail tidak mengunduh dan men-decode gambar 500px yang jauh lebih besar.
+ */
+public enum TmdbPosterSize {
+    W92("w92", 92),
+    W154("w154", 154),
+    W185("w185", 185),
+    W342("w342", 342),
+    W500("w500", 500),
+    W780("w780", 780),
+    ORIGINAL("original", Integer.MAX_VALUE);
+
+    private static final String IMAGE_BASE_URL = "https://image.tmdb.org/t/p/";
+
+    private final String pathSegment;
+    private final int widthPx;
+
+    TmdbPosterSize(String pathSegment, int widthPx) {
+        this.pathSegment = pathSegment;
+        this.widthPx = widthPx;
+    }
+
+    public int getWidthPx() {
+        return widthPx;
+    }
+
+    /**
+     * Memilih ukuran terkecil yang lebarnya >= lebar target.
+     * @param targetWidthPx Lebar view dalam piksel fisik (sudah memperhitungkan density layar).
+     */
+    public static TmdbPosterSize forWidth(int targetWidthPx) {
+        for (TmdbPosterSize size : values()) {
+            if (size.widthPx >= targetWidthPx) {
+                return size;
+            }
+        }
+        return ORIGINAL;
+    }
+
+    /**
+     * Membangun URL lengkap poster, misal "https://image.tmdb.org/t/p/w342/abc.jpg".
+     */
+    public String url(String posterPath) {
+        return IMAGE_BASE_URL + pathSegment + posterPath;
+    }
+}
@@ -1,76 +1,79 @@
 package com.example.filmhub.viewmodel;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 
-import com.example.filmhub.database.entities.WatchedMovie;
+import com.example.filmhub.database.entities.WatchStats;
+import com.example.filmhub.database.projections.JournalSearchResult;
+import com.example.filmhub.database.projections.WatchedListItem;
+import com.example.filmhub.data.paging.LocalPagedList;
 import com.example.filmhub.data.repository.MovieRepository;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 
 public class AnalyticsViewModel extends AndroidViewModel {
 
     private final MovieRepository movieRepository;
-    private final LiveData<List<WatchedMovie>> allWatchedMovies;
+    private final LocalPagedList<WatchedListItem> watchedMovies;
+    private final LiveData<List<String>> topGenres;
+    private final LiveData<WatchStats> watchStats;
+
+    private static final int TOP_GENRE_COUNT = 3;
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
+    // Hasil pencarian jurnal; null berarti tidak sedang mencari (tampilkan daftar jurnal biasa)
+    private final MediatorLiveData<List<JournalSearchResult>> searchResults = new MediatorLiveData<>();
+    private LiveData<List<JournalSearchResult>> searchSource;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
+    private String searchQuery = "";
 
     public AnalyticsViewModel(@NonNull Application application) {
         super(application);
         movieRepository = MovieRepository.getInstance(application);
-        allWatchedMovies = movieRepository.getAllWatchedMovies();
+        watchedMovies = movieRepository.getWatchedMoviesPaged();
+        topGenres = movieRepository.getTopWatchedGenres(TOP_GENRE_COUNT);
+        watchStats = movieRepository.getWatchStats();
     }
 
     /**
-     * Mengekspos LiveData yang berisi semua film yang sudah ditonton.
+     * Mengekspos LiveData berisi film yang sudah ditonton, dibaca bertahap per chunk.
+     * Posisi yang belum dimuat berisi null (placeholder).
      */
-    public LiveData<List<WatchedMovie>> getAllWatchedMovies() {
-        return allWatchedMovies;
+    public LiveData<List<WatchedListItem>> getWatchedMovies() {
+        return watchedMovies;
     }
 
     /**
-     * Menghitung total durasi dari daftar film dan memformatnya menjadi "X jam Y menit".
-     *
-     * @param movies Daftar film yang sudah ditonton.
-     * @return String durasi yang sudah diformat.
+     * Dipanggil saat daftar di-scroll agar chunk di sekitar viewport dimuat.
      */
+    public void onViewportChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        watchedMovies.onViewportChanged(firstVisiblePosition, lastVisiblePosition);
+    }
+
     /**
-     * REVISI: Menghitung total durasi dan HANYA memformatnya dalam menit.
-     * @param movies Daftar film yang sudah ditonton.
-     * @return String durasi yang sudah diformat (misal: "150 menit").
+     * Agregat jurnal untuk header Analytics (jumlah film, total durasi, rata-rata rating).
+     * Dipelihara oleh database, jadi tidak perlu menjumlahkan seluruh daftar di main thread.
      */
-    public String getTotalDurationFormatted(List<WatchedMovie> movies) {
-        if (movies == null || movies.isEmpty()) {
-            return "0 menit";
-        }
-        int totalMinutes = 0;
-        for (WatchedMovie movie : movies) {
-            totalMinutes += movie.runtime;
-        }
-        // Langsung kembalikan dalam format menit
-        return totalMinutes + " menit";
+    public LiveData<WatchStats> getWatchStats() {
+        return watchStats;
     }
 
     /**
-     * Menghitung rata-rata rating personal dari daftar film.
-     *
-     * @param movies Daftar film yang sudah ditonton.
-     * @return float rata-rata rating.
+     * Memformat total durasi dalam menit (misal: "150 menit").
      */
-    public float getAverageRating(List<WatchedMovie> movies) {
-        if (movies == null || movies.isEmpty()) {
-            return 0.0f;
-        }
-        float totalRating = 0;
-        for (WatchedMovie movie : movies) {
-            totalRating += movie.userRating;
-        }
-        return totalRating / movies.size();
+    public String getTotalDurationFormatted(WatchStats stats) {
+        return (stats != null ? stats.totalRuntime : 0) + " menit";
+    }
+
+    public float getAverageRating(WatchStats stats) {
+        return stats != null ? stats.getAverageRating() : 0.0f;
     }
 
     public void deleteWatchedMovie(int movieId) { // <-- TAMBAHKAN METODE INI
@@ -78,47 +81,59 @@ public class AnalyticsViewModel extends AndroidViewModel {
     }
 
     /**
-     * Menghitung genre yang paling sering muncul dan mengembalikan Top 3.
-     *
-     * @param movies Daftar film yang sudah ditonton.
-     * @return List of String berisi maksimal 3 nama genre teratas.
+     * Top 3 genre yang paling sering ditonton.
+     * Agregasi dilakukan di database, sehingga biayanya tidak bergantung pada jumlah catatan tontonan.
      */
-    public List<String> getTopGenres(List<WatchedMovie> movies) {
-        if (movies == null || movies.isEmpty()) {
-            return new ArrayList<>();
-        }
+    public LiveData<List<String>> getTopGenres() {
+        return topGenres;
+    }
 
-        // 1. Gunakan HashMap untuk menghitung frekuensi setiap genre
-        Map<String, Integer> genreCounts = new HashMap<>();
-
-        // 2. Loop semua film yang ditonton
-        for (WatchedMovie movie : movies) {
-            if (movie.genres != null && !movie.genres.isEmpty()) {
-                // 3. Split string genre (misal: "Action, Sci-Fi")
-                String[] genres = movie.genres.split(",");
-                // 4. Tambahkan hitungan untuk setiap genre
-                for (String genre : genres) {
-                    String trimmedGenre = genre.trim();
-                    if (!trimmedGenre.isEmpty()) {
-                        genreCounts.put(trimmedGenre, genreCounts.getOrDefault(trimmedGenre, 0) + 1);
-                    }
-                }
-            }
-        }
+    public LiveData<List<JournalSearchResult>> getSearchResults() {
+        return searchResults;
+    }
 
-        // 5. Ubah Map menjadi List agar bisa diurutkan
-        List<Map.Entry<String, Integer>> sortedList = new ArrayList<>(genreCounts.entrySet());
+    /**
+     * Dipanggil setiap kali teks di kotak pencarian berubah. Pencarian baru dijalankan setelah
+     * pengguna berhenti mengetik selama {@link #SEARCH_DEBOUNCE_MS}; teks kosong menutup pencarian.
+     */
+    public void onSearchQueryChanged(String text) {
+        String query = text == null ? "" : text.trim();
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        if (query.equals(searchQuery)) return;
+        searchQuery = query;
 
-        // 6. Urutkan list secara descending berdasarkan jumlah (value)
-        // (Jika Java 8+ tidak masalah, jika tidak gunakan Collections.sort dengan Comparator)
-        sortedList.sort((o1, o2) -> o2.getValue().compareTo(o1.getValue()));
+        if (query.isEmpty()) {
+            setSearchSource(null);
+            searchResults.setValue(null);
+            return;
+        }
+        pendingSearch = () -> {
+            pendingSearch = null;
+            setSearchSource(movieRepository.searchJournal(query));
+        };
+        mainHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
+    }
 
-        // 7. Ambil 3 nama genre teratas
-        List<String> topGenres = new ArrayList<>();
-        for (int i = 0; i < Math.min(3, sortedList.size()); i++) {
-            topGenres.add(sortedList.get(i).getKey());
+    // Hasil pencarian lama dilepas agar tidak menimpa hasil query yang lebih baru
+    private void setSearchSource(LiveData<List<JournalSearchResult>> source) {
+        if (searchSource != null) {
+            searchResults.removeSource(searchSource);
+        }
+        searchSource = source;
+        if (source != null) {
+            searchResults.addSource(source, searchResults::setValue);
         }
+    }
 
-        return topGenres;
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+        }
+        setSearchSource(null);
     }
 }
@@ -0,0 +1,72 @@
+package com.example.filmhub.viewmodel;
+
+import android.app.Application;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.example.filmhub.data.backup.BackupStatus;
+import com.example.filmhub.data.repository.MovieRepository;
+
+/**
+ * ViewModel untuk ekspor/impor jurnal dari menu utama.
+ * Status disimpan di sini agar progres tetap tampil setelah rotasi layar.
+ */
+public class BackupViewModel extends AndroidViewModel {
+
+    private final MovieRepository movieRepository;
+    private final MediatorLiveData<BackupStatus> backupStatus = new MediatorLiveData<>();
+    private LiveData<BackupStatus> currentSource;
+
+    public BackupViewModel(@NonNull Application application) {
+        super(application);
+        movieRepository = MovieRepository.getInstance(application);
+    }
+
+    public LiveData<BackupStatus> getBackupStatus() {
+        return backupStatus;
+    }
+
+    public boolean isRunning() {
+        BackupStatus status = backupStatus.getValue();
+        return status != null && status.state == BackupStatus.State.RUNNING;
+    }
+
+    public void exportJournal(Uri uri) {
+        setSource(movieRepository.exportJournal(uri));
+    }
+
+    public void importJournal(Uri uri) {
+        setSource(movieRepository.importJournal(uri));
+    }
+
+    /**
+     * Dipanggil setelah hasil akhir ditampilkan, agar tidak muncul lagi saat activity dibuat ulang.
+     */
+    public void onFinishedStatusShown() {
+        if (currentSource != null) {
+            backupStatus.removeSource(currentSource);
+            currentSource = null;
+        }
+        backupStatus.setValue(null);
+    }
+
+    private void setSource(LiveData<BackupStatus> source) {
+        if (currentSource != null) {
+            backupStatus.removeSource(currentSource);
+        }
+        currentSource = source;
+        backupStatus.addSource(source, backupStatus::setValue);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (currentSource != null) {
+            backupStatus.removeSource(currentSource);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData; // <-- REVISI: Gunakan MutableLiveData
 import com.example.filmhub.database.entities.FavoriteMovie;
 import com.example.filmhub.data.model.MovieDetailResponse;
+import com.example.filmhub.data.model.RichMovieDetail;
 import com.example.filmhub.database.entities.WatchedMovie;
 import com.example.filmhub.data.repository.MovieRepository;
 import androidx.lifecycle.MediatorLiveData; // <-- REVISI: Gunakan MediatorLiveData
@@ -17,11 +18,13 @@ public class DetailViewModel extends AndroidViewModel {
 
     // REVISI: Ubah MutableLiveData menjadi MediatorLiveData agar konsisten
     private final MediatorLiveData<MovieDetailResponse> movieDetailsLiveData = new MediatorLiveData<>();
+    // Pemeran, trailer, dan film serupa; terisi setelah seluruh respons detail selesai di-decode
+    private final MediatorLiveData<RichMovieDetail> movieExtrasLiveData = new MediatorLiveData<>();
     private final MediatorLiveData<FavoriteMovie> favoriteStatusLiveData = new MediatorLiveData<>();
     private final MediatorLiveData<WatchedMovie> watchedStatusLiveData = new MediatorLiveData<>();
 
     // Variabel untuk menyimpan referensi ke sumber LiveData, agar bisa di-remove nanti
-    private LiveData<MovieDetailResponse> detailsSource;
+    private LiveData<RichMovieDetail> detailsSource;
     private LiveData<FavoriteMovie> currentFavoriteSource;
     private LiveData<WatchedMovie> currentWatchedSource;
 
@@ -38,6 +41,10 @@ public class DetailViewModel extends AndroidViewModel {
         return movieDetailsLiveData;
     }
 
+    public LiveData<RichMovieDetail> getMovieExtrasLiveData() {
+        return movieExtrasLiveData;
+    }
+
     public LiveData<FavoriteMovie> getFavoriteStatusLiveData() {
         return favoriteStatusLiveData;
     }
@@ -52,15 +59,28 @@ public class DetailViewModel extends AndroidViewModel {
 
     public void loadAllData(int movieId) {
         // Ambil LiveData dari Repository
-        detailsSource = movieRepository.getMovieDetails(movieId);
+        // Satu request untuk detail dan semua sub-resource-nya (append_to_response)
+        detailsSource = movieRepository.getRichMovieDetails(movieId);
         currentFavoriteSource = movieRepository.getFavoriteStatus(movieId);
         currentWatchedSource = movieRepository.getWatchedStatus(movieId);
 
         // Teruskan nilai dari sumber ke LiveData milik ViewModel
-        movieDetailsLiveData.addSource(detailsSource, movieDetails -> {
-            movieDetailsLiveData.setValue(movieDetails);
-            // Hapus sumber setelah dapat nilai agar tidak memicu update ganda
-            movieDetailsLiveData.removeSource(detailsSource);
+        // Hero ditampilkan begitu field dasarnya di-decode; daftar yang berat menyusul
+        movieDetailsLiveData.addSource(detailsSource, richDetail -> {
+            if (richDetail == null) {
+                movieDetailsLiveData.setValue(null);
+                movieDetailsLiveData.removeSource(detailsSource);
+                return;
+            }
+            // Hero yang sama tidak dikirim ulang, agar UI tidak di-bind dua kali
+            if (movieDetailsLiveData.getValue() != richDetail.getDetail()) {
+                movieDetailsLiveData.setValue(richDetail.getDetail());
+            }
+            if (richDetail.isComplete()) {
+                movieExtrasLiveData.setValue(richDetail);
+                // Hapus sumber setelah dapat nilai akhir agar tidak memicu update ganda
+                movieDetailsLiveData.removeSource(detailsSource);
+            }
         });
 
         favoriteStatusLiveData.addSource(currentFavoriteSource, favoriteMovie -> {
@@ -72,7 +92,7 @@ public class DetailViewModel extends AndroidViewModel {
         });
     }
 
-    // Metode toggleFavorite dan saveWatchedMovie tidak ada perubahan
+    // Status favorit dari repository sudah optimistis, jadi tap beruntun selalu membaca state terbaru
     public void toggleFavorite() {
         MovieDetailResponse movieDetails = movieDetailsLiveData.getValue();
         FavoriteMovie favoriteMovie = favoriteStatusLiveData.getValue();
@@ -90,12 +110,20 @@ public class DetailViewModel extends AndroidViewModel {
         movieRepository.saveWatchedMovie(watchedMovie);
     }
 
+    // Dipanggil saat layar berhenti agar perubahan yang masih ditahan segera ditulis
+    public void flushPendingWrites() {
+        movieRepository.flushPendingWrites();
+    }
+
     // onCleared untuk membersihkan semua source agar tidak ada memory leak
     @Override
     protected void onCleared() {
         super.onCleared();
+        movieRepository.flushPendingWrites();
         if (detailsSource != null) {
             movieDetailsLiveData.removeSource(detailsSource);
+            // Layar ditutup sebelum detail selesai: unduhan dan decode-nya tidak perlu diteruskan
+            movieRepository.cancelRichMovieDetails(detailsSource);
         }
         if (currentFavoriteSource != null) {
             favoriteStatusLiveData.removeSource(currentFavoriteSource);
@@ -4,8 +4,9 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import com.example.filmhub.database.entities.FavoriteMovie;
+import com.example.filmhub.data.paging.LocalPagedList;
 import com.example.filmhub.data.repository.MovieRepository;
+import com.example.filmhub.database.projections.FavoriteListItem;
 import java.util.List;
 
 /**
@@ -15,23 +16,31 @@ import java.util.List;
 public class FavoriteViewModel extends AndroidViewModel {
 
     private final MovieRepository movieRepository;
-    private final LiveData<List<FavoriteMovie>> allFavoriteMovies;
+    private final LocalPagedList<FavoriteListItem> favoriteMovies;
 
     public FavoriteViewModel(@NonNull Application application) {
         super(application);
         // Mendapatkan instance dari MovieRepository
         movieRepository = MovieRepository.getInstance(application);
-        // Mengambil LiveData dari daftar film favorit saat ViewModel pertama kali dibuat
-        allFavoriteMovies = movieRepository.getAllFavoriteMovies();
+        // Daftar favorit dibaca bertahap per chunk, bukan seluruh tabel setiap kali berubah
+        favoriteMovies = movieRepository.getFavoriteMoviesPaged();
     }
 
     /**
      * Metode untuk diekspos ke Fragment.
      * Fragment akan mengobservasi LiveData ini untuk mendapatkan update
      * setiap kali ada perubahan pada data film favorit di database.
-     * @return LiveData yang berisi daftar semua FavoriteMovie.
+     * Posisi yang belum dimuat berisi null (placeholder).
+     * @return LiveData yang berisi daftar film favorit.
      */
-    public LiveData<List<FavoriteMovie>> getAllFavoriteMovies() {
-        return allFavoriteMovies;
+    public LiveData<List<FavoriteListItem>> getFavoriteMovies() {
+        return favoriteMovies;
+    }
+
+    /**
+     * Dipanggil saat daftar di-scroll agar chunk di sekitar viewport dimuat.
+     */
+    public void onViewportChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        favoriteMovies.onViewportChanged(firstVisiblePosition, lastVisiblePosition);
     }
 }
@@ -1,51 +1,184 @@
 package com.example.filmhub.viewmodel; // Sesuaikan dengan package Anda
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData; // <-- REVISI: Gunakan MutableLiveData
 import androidx.lifecycle.Observer;
+import androidx.lifecycle.SavedStateHandle;
 
+import com.example.filmhub.data.cache.MembershipIndex;
+import com.example.filmhub.data.model.Genre;
 import com.example.filmhub.data.model.GenreResponse;
 import com.example.filmhub.data.model.MovieResponse;
 import com.example.filmhub.data.repository.MovieRepository;
 import com.example.filmhub.data.model.Movie;
+import com.example.filmhub.data.paging.FeedDeduplicator;
+import com.example.filmhub.data.paging.FeedWindow;
+import com.example.filmhub.data.paging.HomeRail;
+import com.example.filmhub.data.paging.PrefetchPolicy;
+import com.example.filmhub.data.paging.QuerySession;
+import com.example.filmhub.data.paging.RailLoader;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import androidx.lifecycle.MediatorLiveData;
 
 
 public class HomeViewModel extends AndroidViewModel {
 
+    // Jeda setelah ketikan terakhir sebelum pencarian benar-benar dikirim
+    private static final long SEARCH_DEBOUNCE_MS = 400;
+
+    // Jumlah halaman maksimum yang disimpan di memori di sekitar viewport
+    private static final int MAX_PAGES_IN_MEMORY = 5;
+
+    // Prefetch halaman berikutnya saat sisa item <= 1 halaman TMDb (20 item),
+    // diperpanjang sejauh item yang akan dilewati dalam 1,5 detik pada kecepatan scroll saat ini
+    private static final int PREFETCH_DISTANCE_PAGES = 1;
+    private static final int TMDB_PAGE_SIZE = 20;
+    private static final long PREFETCH_VELOCITY_LOOKAHEAD_MS = 1500;
+
+    // Feed yang lebih tua dari ini dimuat ulang saat layar Home tampil lagi
+    private static final long FEED_STALE_AFTER_MS = 10 * 60 * 1000L;
+    // Batas halaman yang dimuat ulang setelah proses aplikasi dimatikan sistem
+    private static final int MAX_RESTORED_PAGES = 10;
+
+    // Kunci SavedStateHandle: query aktif, jumlah halaman yang dimuat, dan posisi scroll
+    private static final String KEY_QUERY = "home_query";
+    private static final String KEY_SORT_BY = "home_sort_by";
+    private static final String KEY_GENRE_IDS = "home_genre_ids";
+    private static final String KEY_LOADED_PAGES = "home_loaded_pages";
+    private static final String KEY_ANCHOR_POSITION = "home_anchor_position";
+
+    // Rail dimuat paling banyak 2 sekaligus agar tidak berebut koneksi dengan grid utama
+    private static final int MAX_CONCURRENT_RAIL_LOADS = 2;
+    // Jumlah rail pilihan per genre, diambil dari genre yang paling sering ditonton di jurnal
+    private static final int MAX_GENRE_RAILS = 2;
+    // Id stabil rail: rail tetap memakai id kecil, rail genre memakai basis + id genre TMDb
+    private static final long RAIL_ID_TOP_RATED = 2;
+    private static final long RAIL_ID_LATEST = 3;
+    private static final long RAIL_ID_GENRE_BASE = 1000;
+
     private final MovieRepository movieRepository;
     private final LiveData<GenreResponse> genresLiveData;
+    // Bertahan saat proses dimatikan sistem; feed-nya sendiri bertahan di ViewModel ini selama proses hidup
+    private final SavedStateHandle savedState;
+
+    // Rail horizontal di atas grid; fan-out lewat RailLoader, isinya digabung menjadi satu daftar
+    private final RailLoader railLoader;
+    private final MediatorLiveData<List<HomeRail>> rails = new MediatorLiveData<>();
+    private final LiveData<List<String>> topWatchedGenres;
 
     // MediatorLiveData adalah LiveData "super" yang bisa mengobservasi LiveData lain.
     private final MediatorLiveData<List<Movie>> movieList = new MediatorLiveData<>();
 
-    private int currentPage = 1;
+    // Feed berbasis jendela halaman, hanya halaman di sekitar viewport yang ada di memori
+    private final FeedWindow feedWindow = new FeedWindow(MAX_PAGES_IN_MEMORY);
+    // Film yang sama bisa muncul di dua halaman karena urutan TMDb bergeser; duplikatnya dibuang
+    private final FeedDeduplicator feedDeduplicator = new FeedDeduplicator();
+    private final Set<Integer> reloadingPages = new HashSet<>();
+    private final PrefetchPolicy prefetchPolicy =
+            PrefetchPolicy.ofPages(PREFETCH_DISTANCE_PAGES, TMDB_PAGE_SIZE, PREFETCH_VELOCITY_LOOKAHEAD_MS);
+
+    // Sesi query yang sedang aktif. Diganti setiap kali feed di-reset (query/filter berubah);
+    // request sesi lama dibatalkan dan respons yang terlambat dibuang.
+    private QuerySession session;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
+
+    private int currentPage = 1; // Halaman terakhir (paling bawah) yang sudah dimuat
     private int totalPages = 1;
     private boolean isLoading = false;
-    private String currentQuery = "";
-    private String currentSortBy = "popularity.desc";
-    private String currentGenreIds = "";
 
-    public HomeViewModel(@NonNull Application application) {
+    // Halaman yang perlu dimuat ulang berurutan setelah proses dipulihkan (1 = hanya halaman pertama)
+    private int restoreUntilPage = 1;
+    // Posisi scroll yang dipulihkan dari saved state, -1 jika tidak ada
+    private int pendingScrollAnchor = -1;
+    private long feedLoadedAt = 0;
+
+    public HomeViewModel(@NonNull Application application, @NonNull SavedStateHandle savedState) {
         super(application);
+        this.savedState = savedState;
         movieRepository = MovieRepository.getInstance(application);
         genresLiveData = movieRepository.getGenres();
-        loadMovies(); // Muat data awal
+        topWatchedGenres = movieRepository.getTopWatchedGenres(MAX_GENRE_RAILS);
+
+        // Query dan filter terakhir dipulihkan; tanpa saved state ini adalah feed default
+        session = new QuerySession(0, savedValue(KEY_QUERY, ""),
+                savedValue(KEY_SORT_BY, "popularity.desc"), savedValue(KEY_GENRE_IDS, ""));
+        restoreUntilPage = Math.min(savedValue(KEY_LOADED_PAGES, 1), MAX_RESTORED_PAGES);
+        int anchor = savedValue(KEY_ANCHOR_POSITION, 0);
+        pendingScrollAnchor = anchor > 0 ? anchor : -1;
+
+        // Rail baru mulai dimuat setelah halaman pertama grid tiba (lihat loadMovies)
+        railLoader = new RailLoader((sortBy, genreIds) -> movieRepository.getDiscoverMovies(sortBy, genreIds, 1),
+                this::cancelPage, MAX_CONCURRENT_RAIL_LOADS);
+        railLoader.setHidden(!session.getQuery().isEmpty());
+        rails.addSource(railLoader.getRails(), rails::setValue);
+        rails.addSource(genresLiveData, genres -> submitRails());
+        rails.addSource(topWatchedGenres, genres -> submitRails());
+        submitRails();
+
+        loadMovies(); // Muat data awal (satu-satunya request awal; Fragment tidak memicu refresh lagi)
+    }
+
+    // Rail tetap ditambah rail per genre favorit dari jurnal, jika nama genrenya dikenal TMDb
+    private void submitRails() {
+        List<HomeRail> railSpecs = new ArrayList<>();
+        railSpecs.add(HomeRail.of(RAIL_ID_TOP_RATED, "Rating Tertinggi", "vote_average.desc", ""));
+        railSpecs.add(HomeRail.of(RAIL_ID_LATEST, "Terbaru", "release_date.desc", ""));
+
+        GenreResponse genreResponse = genresLiveData.getValue();
+        List<String> favoriteGenres = topWatchedGenres.getValue();
+        if (genreResponse != null && genreResponse.getGenres() != null && favoriteGenres != null) {
+            for (String genreName : favoriteGenres) {
+                for (Genre genre : genreResponse.getGenres()) {
+                    if (genre.getName() != null && genre.getName().equalsIgnoreCase(genreName)) {
+                        railSpecs.add(HomeRail.of(RAIL_ID_GENRE_BASE + genre.getId(),
+                                "Pilihan " + genre.getName() + " untukmu",
+                                "popularity.desc", String.valueOf(genre.getId())));
+                        break;
+                    }
+                }
+            }
+        }
+        railLoader.submit(railSpecs);
+    }
+
+    private <T> T savedValue(String key, T defaultValue) {
+        T value = savedState.get(key);
+        return value != null ? value : defaultValue;
     }
 
     public LiveData<List<Movie>> getMovieList() {
         return movieList;
     }
 
+    /**
+     * Rail horizontal di atas grid, hanya yang sudah berisi film. Kosong selama pencarian aktif.
+     */
+    public LiveData<List<HomeRail>> getRails() {
+        return rails;
+    }
+
     public LiveData<GenreResponse> getGenresLiveData() {
         return genresLiveData;
     }
 
+    /**
+     * Indeks favorit/tontonan untuk badge di grid; versinya berubah setiap kali isinya berganti.
+     */
+    public MembershipIndex getMembershipIndex() {
+        return movieRepository.getMembershipIndex();
+    }
+
     public void loadMoreMovies() {
         if (isLoading || currentPage >= totalPages) return;
         currentPage++;
@@ -53,48 +186,226 @@ public class HomeViewModel extends AndroidViewModel {
     }
 
     public void refreshData() {
+        railLoader.retryFailed();
+        startSession(session.getQuery(), session.getSortBy(), session.getGenreIds());
+    }
+
+    /**
+     * Dipanggil saat layar Home dibuat ulang (rotasi, kembali dari tab lain). Feed yang masih
+     * tersimpan di ViewModel dipakai apa adanya; hanya dimuat ulang jika sudah basi.
+     */
+    public void refreshIfStale() {
+        if (feedLoadedAt > 0 && SystemClock.uptimeMillis() - feedLoadedAt > FEED_STALE_AFTER_MS) {
+            refreshData();
+        }
+    }
+
+    public String getQuery() {
+        return session.getQuery();
+    }
+
+    public String getSortBy() {
+        return session.getSortBy();
+    }
+
+    public String getGenreIds() {
+        return session.getGenreIds();
+    }
+
+    /**
+     * Posisi scroll yang dipulihkan setelah proses dimatikan sistem. Dikembalikan sekali saja,
+     * begitu feed sudah cukup panjang untuk menampilkannya; selain itu -1.
+     */
+    public int consumeScrollAnchor(int itemCount) {
+        if (pendingScrollAnchor < 0 || itemCount <= pendingScrollAnchor) return -1;
+        int anchor = pendingScrollAnchor;
+        pendingScrollAnchor = -1;
+        return anchor;
+    }
+
+    // Menutup sesi lama (membatalkan request-nya) lalu memuat halaman pertama untuk sesi baru
+    private void startSession(String query, String sortBy, String genreIds) {
+        cancelPendingSearch();
+        session.close(this::cancelPage);
+        session = session.next(query, sortBy, genreIds);
+        railLoader.setHidden(!query.isEmpty());
+        savedState.set(KEY_QUERY, query);
+        savedState.set(KEY_SORT_BY, sortBy);
+        savedState.set(KEY_GENRE_IDS, genreIds);
+        savedState.set(KEY_LOADED_PAGES, 1);
+        savedState.set(KEY_ANCHOR_POSITION, 0);
+        restoreUntilPage = 1;
+        pendingScrollAnchor = -1;
         currentPage = 1;
         totalPages = 1;
+        feedWindow.clear();
+        feedDeduplicator.clear();
+        reloadingPages.clear();
+        prefetchPolicy.reset();
         loadMovies();
     }
 
-    public void applySearch(String query) {
-        currentQuery = query;
-        refreshData();
+    /**
+     * @return false jika query sama dengan yang sedang tampil, sehingga tidak ada yang dimuat.
+     */
+    public boolean applySearch(String query) {
+        if (session.matches(query, session.getSortBy(), session.getGenreIds())) return false;
+        startSession(query, session.getSortBy(), session.getGenreIds());
+        return true;
+    }
+
+    /**
+     * Dipanggil setiap kali teks pencarian berubah. Pencarian baru dikirim setelah pengguna
+     * berhenti mengetik selama {@link #SEARCH_DEBOUNCE_MS}, sehingga ketikan cepat tidak
+     * menghasilkan satu request per huruf. Teks kosong mengembalikan feed ke daftar default.
+     */
+    public void onSearchQueryChanged(String text) {
+        String query = text == null ? "" : text.trim();
+        cancelPendingSearch();
+        if (session.matches(query, session.getSortBy(), session.getGenreIds())) return;
+        pendingSearch = () -> {
+            pendingSearch = null;
+            applySearch(query);
+        };
+        mainHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
+    }
+
+    private void cancelPendingSearch() {
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+    }
+
+    /**
+     * @return false jika filter sama dengan yang sedang tampil (misal Spinner memanggil
+     * onItemSelected saat layar dibuat ulang), sehingga feed tidak di-reset.
+     */
+    public boolean applyFilters(String sortBy, String genreIds) {
+        if (session.matches(session.getQuery(), sortBy, genreIds)) {
+            return false;
+        }
+        // Hapus query pencarian saat filter diterapkan
+        startSession("", sortBy, genreIds);
+        return true;
     }
 
-    public void applyFilters(String sortBy, String genreIds) {
-        currentQuery = ""; // Hapus query pencarian saat filter diterapkan
-        currentSortBy = sortBy;
-        currentGenreIds = genreIds;
-        refreshData();
+    /**
+     * Dipanggil Fragment setiap kali RecyclerView di-scroll.
+     * Menggeser jendela halaman ke posisi viewport: halaman yang jauh dibuang dari memori,
+     * halaman di sekitar viewport yang sempat dibuang dimuat ulang dari cache.
+     * Halaman berikutnya juga di-prefetch sebelum pengguna sampai di ujung feed.
+     */
+    public void onViewportChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        if (firstVisiblePosition < 0 || feedWindow.isEmpty()) return;
+        savedState.set(KEY_ANCHOR_POSITION, firstVisiblePosition);
+        List<Movie> currentFeed = movieList.getValue();
+        int totalItemCount = currentFeed != null ? currentFeed.size() : 0;
+        if (prefetchPolicy.shouldPrefetch(lastVisiblePosition, totalItemCount, SystemClock.uptimeMillis())) {
+            loadMoreMovies(); // Sudah dijaga: tidak jalan jika sedang loading atau sudah di halaman terakhir
+        }
+
+        int centerPosition = (firstVisiblePosition + lastVisiblePosition) / 2;
+        if (feedWindow.moveTo(feedWindow.pageForPosition(centerPosition))) {
+            publishFeed();
+        }
+        for (int page : feedWindow.getMissingPagesInWindow()) {
+            reloadPage(page);
+        }
+    }
+
+    // Meminta satu halaman untuk sesi yang aktif dan mencatatnya agar bisa dibatalkan
+    private LiveData<MovieResponse> requestPage(QuerySession owner, int page) {
+        LiveData<MovieResponse> source = owner.isSearch()
+                ? movieRepository.searchMovies(owner.getQuery(), page)
+                : movieRepository.getDiscoverMovies(owner.getSortBy(), owner.getGenreIds(), page);
+        owner.track(source);
+        return source;
     }
 
     private void loadMovies() {
         isLoading = true;
-        LiveData<MovieResponse> source;
-        if (!currentQuery.isEmpty()) {
-            source = movieRepository.searchMovies(currentQuery, currentPage);
-        } else {
-            source = movieRepository.getDiscoverMovies(currentSortBy, currentGenreIds, currentPage);
-        }
+        final int page = currentPage;
+        final QuerySession owner = session;
+        LiveData<MovieResponse> source = requestPage(owner, page);
 
         movieList.addSource(source, movieResponse -> {
+            movieList.removeSource(source);
+            owner.untrack(source);
+            if (owner != session) return; // Query sudah berganti, respons lama dibuang
+            isLoading = false;
+            // Konten pertama sudah tampil (atau gagal); baru sekarang rail ikut memakai jaringan
+            railLoader.start();
             if (movieResponse != null && movieResponse.getResults() != null) {
                 totalPages = movieResponse.getTotalPages();
-                List<Movie> currentList = (currentPage == 1) ? new ArrayList<>() : movieList.getValue();
-                if (currentList == null) {
-                    currentList = new ArrayList<>();
+                feedWindow.putPage(page, feedDeduplicator.accept(page, movieResponse.getResults()));
+                savedState.set(KEY_LOADED_PAGES, page);
+                if (page == 1) {
+                    feedLoadedAt = SystemClock.uptimeMillis();
+                }
+                publishFeed();
+                // Setelah proses dipulihkan, halaman sampai posisi scroll terakhir dimuat berurutan
+                // (biasanya langsung dari katalog offline, tanpa jaringan)
+                if (page < restoreUntilPage && page < totalPages) {
+                    currentPage = page + 1;
+                    loadMovies();
                 }
-                currentList.addAll(movieResponse.getResults());
-                movieList.setValue(currentList);
             } else {
-                if (currentPage == 1) {
+                if (page == 1) {
                     movieList.setValue(null); // Kirim null untuk menandakan error
+                } else {
+                    currentPage = page - 1; // Agar halaman yang gagal bisa dicoba lagi
                 }
             }
-            isLoading = false;
+        });
+    }
+
+    // Memuat ulang halaman yang sebelumnya dibuang dari jendela. Biasanya langsung kena cache.
+    private void reloadPage(int page) {
+        if (!reloadingPages.add(page)) return;
+        final QuerySession owner = session;
+        LiveData<MovieResponse> source = requestPage(owner, page);
+        movieList.addSource(source, movieResponse -> {
             movieList.removeSource(source);
+            owner.untrack(source);
+            // Jika feed sudah di-reset sejak request ini dikirim, hasilnya diabaikan
+            if (owner != session || !reloadingPages.remove(page)) return;
+            if (movieResponse != null && movieResponse.getResults() != null && feedWindow.isInWindow(page)) {
+                feedWindow.putPage(page, feedDeduplicator.accept(page, movieResponse.getResults()));
+                publishFeed();
+            }
         });
     }
-}
\ No newline at end of file
+
+    // Halaman yang dibatalkan tidak akan pernah emit, jadi source-nya dilepas di sini
+    private void cancelPage(LiveData<MovieResponse> pendingPage) {
+        movieList.removeSource(pendingPage);
+        movieRepository.cancelPageRequest(pendingPage);
+    }
+
+    private void publishFeed() {
+        movieList.setValue(feedWindow.snapshot());
+    }
+
+    /**
+     * Jumlah film duplikat yang dibuang dari feed sejak query/filter terakhir berubah.
+     */
+    public int getSessionDuplicatesRemoved() {
+        return feedDeduplicator.getDuplicatesRemoved();
+    }
+
+    /**
+     * Perkiraan memori (byte) yang dipakai daftar film di jendela saat ini.
+     */
+    public long getFeedMemoryBytes() {
+        return feedWindow.estimateLoadedBytes();
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        cancelPendingSearch();
+        session.close(this::cancelPage);
+        railLoader.cancelAll();
+    }
+}
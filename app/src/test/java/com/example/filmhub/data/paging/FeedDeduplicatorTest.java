@@ -0,0 +1,75 @@
+package com.example.filmhub.data.paging;
+
+import com.example.filmhub.data.model.Movie;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test untuk penyaring duplikat antar halaman feed.
+ */
+public class FeedDeduplicatorTest {
+
+    private final FeedDeduplicator deduplicator = new FeedDeduplicator();
+
+    @Test
+    public void accept_keepsFirstOccurrenceAcrossPages() {
+        assertArrayEquals(new int[]{1, 2, 3}, ids(deduplicator.accept(1, movies(1, 2, 3))));
+        // Urutan bergeser: 3 sudah tampil di halaman 1
+        assertArrayEquals(new int[]{4, 5}, ids(deduplicator.accept(2, movies(3, 4, 5))));
+        assertEquals(1, deduplicator.getDuplicatesRemoved());
+    }
+
+    @Test
+    public void accept_dropsDuplicatesWithinOnePage() {
+        assertArrayEquals(new int[]{7, 8}, ids(deduplicator.accept(1, movies(7, 8, 7, 8, 7))));
+        assertEquals(3, deduplicator.getDuplicatesRemoved());
+    }
+
+    @Test
+    public void accept_reloadedPageKeepsOwnIdsAndSkipsIdsOfLaterPages() {
+        deduplicator.accept(1, movies(1, 2, 3));
+        deduplicator.accept(2, movies(3, 4, 5));
+
+        // Halaman 1 dibuang FeedWindow lalu dimuat ulang dengan urutan yang sudah bergeser:
+        // 4 sudah milik halaman 2, sedangkan 3 tetap milik halaman 1
+        assertArrayEquals(new int[]{1, 2, 3}, ids(deduplicator.accept(1, movies(1, 4, 2, 3))));
+        // Halaman 2 dimuat ulang: 3 tetap dibuang, film baru yang belum tampil ikut masuk
+        assertArrayEquals(new int[]{4, 5, 6}, ids(deduplicator.accept(2, movies(3, 4, 5, 6))));
+    }
+
+    @Test
+    public void accept_countsDuplicatesOnlyOnFirstAcceptanceOfPage() {
+        deduplicator.accept(1, movies(1, 2));
+        deduplicator.accept(2, movies(2, 3, 3));
+        assertEquals(2, deduplicator.getDuplicatesRemoved());
+
+        deduplicator.accept(2, movies(2, 3, 3));
+        deduplicator.accept(1, movies(1, 2, 2));
+        assertEquals(2, deduplicator.getDuplicatesRemoved());
+
+        deduplicator.clear();
+        assertEquals(0, deduplicator.getDuplicatesRemoved());
+    }
+
+    private static List<Movie> movies(int... ids) {
+        List<Movie> movies = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            movies.add(new Movie(id, "Film " + id, null, null, 0));
+        }
+        return movies;
+    }
+
+    private static int[] ids(List<Movie> movies) {
+        int[] ids = new int[movies.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = movies.get(i).getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.filmhub.data.repository;
+
+import com.example.filmhub.data.model.MovieDetailResponse;
+import com.example.filmhub.data.model.RichMovieDetail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test untuk decoder streaming detail film dengan append_to_response.
+ */
+public class MovieDetailStreamParserTest {
+
+    private static final String BASE_FIELDS = "\"id\":550,\"title\":\"Fight Club\",\"poster_path\":\"/fc.jpg\","
+            + "\"runtime\":139,\"vote_average\":8.4,\"genres\":[{\"id\":18,\"name\":\"Drama\"}]";
+
+    private final MovieDetailStreamParser parser = new MovieDetailStreamParser();
+
+    @Test
+    public void parse_publishesHeroBeforeSubResources() throws IOException {
+        String json = "{" + BASE_FIELDS + ","
+                + "\"credits\":{\"cast\":[{\"name\":\"Edward Norton\",\"character\":\"Narrator\"},"
+                + "{\"name\":\"Brad Pitt\",\"character\":\"Tyler Durden\"}],\"crew\":[{\"name\":\"David Fincher\"}]},"
+                + "\"videos\":{\"results\":[{\"key\":\"abc\",\"site\":\"YouTube\",\"type\":\"Trailer\"}]},"
+                + "\"images\":{\"backdrops\":[{\"file_path\":\"/b1.jpg\"}],\"posters\":[{\"file_path\":\"/p1.jpg\"}]},"
+                + "\"similar\":{\"page\":1,\"results\":[{\"id\":807,\"title\":\"Se7en\"}]}}";
+        List<MovieDetailResponse> heroes = new ArrayList<>();
+
+        RichMovieDetail detail = parser.parse(new StringReader(json), heroes::add);
+
+        assertEquals(1, heroes.size());
+        assertEquals("Fight Club", heroes.get(0).getTitle());
+        assertEquals(139, heroes.get(0).getRuntime());
+        // Hero yang sudah dikirim dipakai ulang di hasil akhir
+        assertSame(heroes.get(0), detail.getDetail());
+        assertTrue(detail.isComplete());
+        assertEquals(2, detail.getCast().size());
+        assertEquals("Tyler Durden", detail.getCast().get(1).getCharacter());
+        assertNotNull(detail.getTrailer());
+        assertEquals("abc", detail.getTrailer().getKey());
+        assertEquals(1, detail.getBackdropPaths().size());
+        assertEquals("/b1.jpg", detail.getBackdropPaths().get(0));
+        assertEquals(807, detail.getSimilar().get(0).getId());
+    }
+
+    @Test
+    public void parse_capsLongListsAndSkipsTheRest() throws IOException {
+        StringBuilder cast = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) cast.append(',');
+            cast.append("{\"id\":").append(i).append(",\"name\":\"Aktor ").append(i).append("\"}");
+        }
+        String json = "{" + BASE_FIELDS + ",\"credits\":{\"cast\":[" + cast + "]},\"similar\":null}";
+
+        RichMovieDetail detail = parser.parse(new StringReader(json), hero -> { });
+
+        assertEquals(15, detail.getCast().size());
+        assertEquals(0, detail.getSimilar().size());
+    }
+
+    @Test
+    public void parse_withoutSubResourcesStillReturnsHero() throws IOException {
+        List<MovieDetailResponse> heroes = new ArrayList<>();
+
+        RichMovieDetail detail = parser.parse(new StringReader("{" + BASE_FIELDS + "}"), heroes::add);
+
+        // Tidak ada sub-resource: hero hanya ada di hasil akhir
+        assertEquals(0, heroes.size());
+        assertEquals("Fight Club", detail.getDetail().getTitle());
+        assertEquals(0, detail.getCast().size());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.filmhub.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test untuk penentuan filter genre Home dari chip.
+ */
+public class GenreFilterTest {
+
+    @Test
+    public void resolve_beforeChipsShown_keepsRestoredGenres() {
+        // Setelah proses dimatikan: spinner memanggil applyFilters sebelum genre selesai dimuat
+        assertEquals("28,12", GenreFilter.resolve(false, Collections.emptyList(), "28,12"));
+        assertEquals("", GenreFilter.resolve(false, Collections.emptyList(), null));
+    }
+
+    @Test
+    public void resolve_afterChipsShown_usesCheckedChips() {
+        assertEquals("28,35", GenreFilter.resolve(true, Arrays.asList(28, 35), "12"));
+        // Semua chip dilepas pengguna: filter genre memang dikosongkan
+        assertEquals("", GenreFilter.resolve(true, Collections.emptyList(), "28,12"));
+    }
+}
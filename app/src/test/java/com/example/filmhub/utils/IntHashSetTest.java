@@ -0,0 +1,51 @@
+package com.example.filmhub.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test untuk himpunan int primitif.
+ */
+public class IntHashSetTest {
+    @Test
+    public void add_reportsNewAndDuplicateValues() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.add(550));
+        assertFalse(set.add(550));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(-7));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(550));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-7));
+        assertFalse(set.contains(13));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        IntHashSet set = new IntHashSet(4);
+        for (int id = 1; id <= 10_000; id++) {
+            assertTrue(set.add(id * 31));
+        }
+        assertEquals(10_000, set.size());
+        for (int id = 1; id <= 10_000; id++) {
+            assertTrue(set.contains(id * 31));
+            assertFalse(set.contains(id * 31 + 1));
+        }
+    }
+
+    @Test
+    public void clear_removesEverything() {
+        IntHashSet set = new IntHashSet();
+        set.add(0);
+        set.add(42);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(42));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.filmhub.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit test untuk konversi teks pencarian jurnal ke ekspresi MATCH FTS4.
+ */
+public class JournalSearchQueryTest {
+    @Test
+    public void plainWords_becomePrefixTerms() {
+        assertEquals("star* wa*", JournalSearchQuery.toMatchExpression("  Star   wa "));
+    }
+
+    @Test
+    public void quotedText_becomesPhrase() {
+        assertEquals("\"sangat bagus\" nolan*", JournalSearchQuery.toMatchExpression("\"Sangat bagus\" Nolan"));
+        // Kutip yang tidak ditutup tetap dianggap frasa
+        assertEquals("akhir* \"plot twist\"", JournalSearchQuery.toMatchExpression("akhir \"plot twist"));
+    }
+
+    @Test
+    public void operatorsAndSyntax_areNeutralized() {
+        assertEquals("spider* man* or* not*", JournalSearchQuery.toMatchExpression("spider-man OR NOT*"));
+        assertEquals("title* x*", JournalSearchQuery.toMatchExpression("title:x ("));
+    }
+
+    @Test
+    public void emptyInput_returnsNull() {
+        assertNull(JournalSearchQuery.toMatchExpression(null));
+        assertNull(JournalSearchQuery.toMatchExpression("  \"\" -*  "));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.filmhub.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test untuk pemilihan ukuran poster TMDb.
+ */
+public class TmdbPosterSizeTest {
+    @Test
+    public void forWidth_picksSmallestCoveringSize() {
+        assertEquals(TmdbPosterSize.W92, TmdbPosterSize.forWidth(1));
+        assertEquals(TmdbPosterSize.W154, TmdbPosterSize.forWidth(93));
+        assertEquals(TmdbPosterSize.W185, TmdbPosterSize.forWidth(185));
+        assertEquals(TmdbPosterSize.W342, TmdbPosterSize.forWidth(263)); // thumbnail 100dp di xxhdpi
+        assertEquals(TmdbPosterSize.W780, TmdbPosterSize.forWidth(540)); // sel grid 2 kolom di layar 1080px
+    }
+
+    @Test
+    public void forWidth_fallsBackToOriginalForHugeTargets() {
+        assertEquals(TmdbPosterSize.ORIGINAL, TmdbPosterSize.forWidth(4000));
+    }
+
+    @Test
+    public void url_buildsFullPosterUrl() {
+        assertEquals("https://image.tmdb.org/t/p/w342/abc.jpg", TmdbPosterSize.W342.url("/abc.jpg"));
+    }
+}